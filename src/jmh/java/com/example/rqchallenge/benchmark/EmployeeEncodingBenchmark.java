@@ -0,0 +1,87 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.model.Employee;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encode/decode cost of the employee list in JSON, Smile and CBOR.
+ * Payload sizes (raw and gzipped) are printed once per trial during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeEncodingBenchmark {
+
+    private static final TypeReference<List<Employee>> EMPLOYEE_LIST = new TypeReference<List<Employee>>() {
+    };
+
+    @Param({"json", "smile", "cbor"})
+    private String encoding;
+
+    @Param({"50", "10000"})
+    private int employeeCount;
+
+    private ObjectMapper mapper;
+
+    private List<Employee> employees;
+
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        switch (encoding) {
+            case "smile":
+                mapper = new ObjectMapper(new SmileFactory());
+                break;
+            case "cbor":
+                mapper = new ObjectMapper(new CBORFactory());
+                break;
+            default:
+                mapper = new ObjectMapper();
+        }
+        employees = generateEmployees(employeeCount);
+        encoded = mapper.writeValueAsBytes(employees);
+        System.out.printf("%n%s, %d employees: %d bytes raw, %d bytes gzip%n",
+                encoding, employeeCount, encoded.length, gzip(encoded).length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public List<Employee> decode() throws IOException {
+        return mapper.readValue(encoded, EMPLOYEE_LIST);
+    }
+
+    private static List<Employee> generateEmployees(int count) {
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(new Employee(String.valueOf(i + 1), "Employee " + random.nextInt(100_000),
+                    String.valueOf(random.nextInt(1_000_000)), String.valueOf(20 + random.nextInt(60)), ""));
+        }
+        return employees;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(body);
+        }
+        return out.toByteArray();
+    }
+}
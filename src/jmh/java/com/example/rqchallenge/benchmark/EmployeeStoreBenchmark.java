@@ -0,0 +1,95 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import com.example.rqchallenge.search.RangeIndex;
+import com.example.rqchallenge.store.EmployeeMutation;
+import com.example.rqchallenge.store.EmployeeStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mixed read/write throughput of the employee store. Readers run a salary range count against the current
+ * snapshot, writers add an employee and delete it again. Compare the mixed groups with readOnly to see
+ * what concurrent writes cost readers.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EmployeeStoreBenchmark {
+
+    @Param({"1000", "10000"})
+    private int employeeCount;
+
+    private EmployeeStore store;
+
+    private final AtomicInteger nextId = new AtomicInteger(1_000_000);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>(employeeCount);
+        for (int i = 0; i < employeeCount; i++) {
+            employees.add(new Employee(String.valueOf(i + 1), "Employee " + random.nextInt(100_000),
+                    String.valueOf(random.nextInt(1_000_000)), String.valueOf(20 + random.nextInt(60)), ""));
+        }
+        store = new EmployeeStore();
+        store.update(current -> new EmployeeSnapshot(1L, Collections.unmodifiableList(employees), 1L));
+        store.current().getIndex(RangeIndex.class, RangeIndex::build);
+    }
+
+    private int rangeCount() {
+        EmployeeSnapshot snapshot = store.current();
+        RangeIndex index = snapshot.getIndex(RangeIndex.class, RangeIndex::build);
+        int min = ThreadLocalRandom.current().nextInt(900_000);
+        return index.salaries().to(min + 100_000) - index.salaries().from(min);
+    }
+
+    private boolean addAndDelete() {
+        String id = String.valueOf(nextId.incrementAndGet());
+        store.apply(EmployeeMutation.add(new Employee(id, "Benchmark " + id, "50000", "30", "")));
+        return store.apply(EmployeeMutation.remove(id));
+    }
+
+    @Benchmark
+    @Group("readOnly")
+    @GroupThreads(8)
+    public int readOnly() {
+        return rangeCount();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(7)
+    public int mixedRead() {
+        return rangeCount();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public boolean mixedWrite() {
+        return addAndDelete();
+    }
+
+    @Benchmark
+    @Group("writeHeavy")
+    @GroupThreads(4)
+    public int writeHeavyRead() {
+        return rangeCount();
+    }
+
+    @Benchmark
+    @Group("writeHeavy")
+    @GroupThreads(4)
+    public boolean writeHeavyWrite() {
+        return addAndDelete();
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.constants.AppConstants;
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeListResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup-to-first-request time of the application in three configurations: the default profile,
+ * the fast-start profile, and the fast-start profile with the AppCDS archive. Each run launches a
+ * fresh JVM against a local stub of the upstream API and polls /highestSalary until it answers 200,
+ * so the measured time covers JVM start, context refresh, warm-up, the first upstream fetch and the
+ * first request. Modes are interleaved to spread machine noise evenly.
+ * <p>
+ * This is a process-level harness rather than a JMH benchmark, JMH can't time a JVM launch from
+ * inside a fork. Run it through ./gradlew startupBenchmark, which builds the exploded class path and
+ * the CDS archive and passes them in as startup.* system properties.
+ */
+public class StartupBenchmark {
+
+    private static final int EMPLOYEE_COUNT = 1000;
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    private enum Mode {
+        DEFAULT(false, false),
+        FAST_START(true, false),
+        FAST_START_CDS(true, true);
+
+        private final boolean fastStartProfile;
+
+        private final boolean cds;
+
+        Mode(boolean fastStartProfile, boolean cds) {
+            this.fastStartProfile = fastStartProfile;
+            this.cds = cds;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String java = System.getProperty("startup.java");
+        String mainClass = System.getProperty("startup.main-class");
+        String classPath = System.getProperty("startup.class-path");
+        String cdsArchive = System.getProperty("startup.cds-archive");
+        File logDir = new File(System.getProperty("startup.log-dir"));
+        int runs = Integer.parseInt(System.getProperty("startup.runs", "5"));
+        if (!logDir.isDirectory() && !logDir.mkdirs()) {
+            throw new IOException("Cannot create " + logDir);
+        }
+
+        HttpServer upstream = startUpstreamStub();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        Map<Mode, List<Long>> results = new EnumMap<>(Mode.class);
+        try {
+            for (int run = 1; run <= runs; run++) {
+                for (Mode mode : Mode.values()) {
+                    List<String> command = new ArrayList<>();
+                    command.add(java);
+                    if (mode.cds) {
+                        command.add("-XX:SharedArchiveFile=" + cdsArchive);
+                        command.add("-Xshare:auto");
+                    }
+                    int port = freePort();
+                    command.addAll(Arrays.asList("-cp", classPath, mainClass,
+                            "--server.port=" + port,
+                            "--api.base-url=http://localhost:" + upstream.getAddress().getPort()));
+                    if (mode.fastStartProfile) {
+                        command.add("--spring.profiles.active=fast-start");
+                    }
+                    File log = new File(logDir, mode.name().toLowerCase() + "-" + run + ".log");
+                    long millis = timeToFirstRequest(command, log, client,
+                            URI.create("http://localhost:" + port + "/api/v1/employees/highestSalary"));
+                    results.computeIfAbsent(mode, m -> new ArrayList<>()).add(millis);
+                    System.out.printf("run %d %-15s %6d ms%n", run, mode, millis);
+                }
+            }
+        } finally {
+            upstream.stop(0);
+        }
+
+        System.out.printf("%n%-15s %8s %8s %8s%n", "mode", "min", "median", "max");
+        for (Map.Entry<Mode, List<Long>> entry : results.entrySet()) {
+            List<Long> times = entry.getValue();
+            times.sort(null);
+            System.out.printf("%-15s %8d %8d %8d%n", entry.getKey(), times.get(0), times.get(times.size() / 2),
+                    times.get(times.size() - 1));
+        }
+    }
+
+    private static long timeToFirstRequest(List<String> command, File log, HttpClient client, URI uri)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(10)).GET().build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        try {
+            long deadline = start + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() - deadline < 0) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (ConnectException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            throw new IllegalStateException("No successful request within " + STARTUP_TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    // Serves the employee list for any path ending in the list endpoint, the base URL prefix doesn't matter
+    private static HttpServer startUpstreamStub() throws IOException {
+        List<Employee> employees = new ArrayList<>(EMPLOYEE_COUNT);
+        for (int i = 1; i <= EMPLOYEE_COUNT; i++) {
+            employees.add(new Employee(String.valueOf(i), "Employee " + i, String.valueOf(30_000 + i * 37),
+                    String.valueOf(20 + i % 45), ""));
+        }
+        byte[] body = new ObjectMapper().writeValueAsBytes(new EmployeeListResponse("success", employees));
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            boolean list = exchange.getRequestURI().getPath().endsWith(AppConstants.GET_ALL_EMPLOYEES);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(list ? 200 : 404, list ? body.length : -1);
+            if (list) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+        return server;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
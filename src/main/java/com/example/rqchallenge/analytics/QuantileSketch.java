@@ -0,0 +1,106 @@
+package com.example.rqchallenge.analytics;
+
+/**
+ * Mergeable quantile sketch with bounded relative error (logarithmic buckets, as in DDSketch).
+ * Memory depends on the value range rather than the number of values: with 1% accuracy
+ * salaries up to a billion fit in roughly a thousand buckets.
+ */
+public final class QuantileSketch {
+
+    private final double relativeAccuracy;
+
+    private final double gamma;
+
+    private final double logGamma;
+
+    // counts[i] holds the values in (gamma^(offset + i - 1), gamma^(offset + i)]
+    private long[] counts = new long[0];
+
+    private int offset;
+
+    private long zeroCount;
+
+    private long count;
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public void add(int value) {
+        count++;
+        if (value <= 0) {
+            zeroCount++;
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(value) / logGamma);
+        ensureCapacity(index);
+        counts[index - offset]++;
+    }
+
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy");
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] != 0) {
+                int index = other.offset + i;
+                ensureCapacity(index);
+                counts[index - offset] += other.counts[i];
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    /**
+     * @param quantile between 0 and 1
+     * @return estimated value at the quantile, 0 for an empty sketch
+     */
+    public int quantile(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = zeroCount;
+        if (rank <= seen) {
+            return 0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return (int) Math.round(2 * Math.pow(gamma, offset + i) / (gamma + 1));
+            }
+        }
+        return (int) Math.round(2 * Math.pow(gamma, offset + counts.length - 1) / (gamma + 1));
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    private void ensureCapacity(int index) {
+        if (counts.length == 0) {
+            counts = new long[16];
+            offset = index - 8;
+            return;
+        }
+        int first = Math.min(offset, index);
+        int last = Math.max(offset + counts.length - 1, index);
+        if (first == offset && last == offset + counts.length - 1) {
+            return;
+        }
+        // Grow with some headroom on the side that overflowed to avoid copying on every new bucket
+        int headroom = Math.max(8, counts.length / 2);
+        int newFirst = first < offset ? first - headroom : offset;
+        int newLength = (last > offset + counts.length - 1 ? last + headroom : offset + counts.length - 1) - newFirst + 1;
+        long[] grown = new long[newLength];
+        System.arraycopy(counts, 0, grown, offset - newFirst, counts.length);
+        counts = grown;
+        offset = newFirst;
+    }
+}
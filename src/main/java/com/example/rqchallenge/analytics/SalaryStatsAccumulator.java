@@ -0,0 +1,132 @@
+package com.example.rqchallenge.analytics;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Single-pass, mergeable aggregation over the primitive salary and age columns of a snapshot.
+ * Count, sum, min, max, a fixed-width salary histogram, per age band figures and optionally a
+ * quantile sketch are all collected in one traversal; partial results from fork-join leaves are merged.
+ * <p>
+ * The histogram and the age bands are capped at {@link #MAX_BUCKETS}, the last one collects every
+ * value beyond the cap.
+ */
+@Getter
+public final class SalaryStatsAccumulator {
+
+    public static final int MAX_BUCKETS = 10_000;
+
+    private final int bucketSize;
+
+    private final int ageBandWidth;
+
+    private final QuantileSketch sketch;  // null when quantiles come from elsewhere
+
+    private long count;
+
+    private long sum;
+
+    private int min = Integer.MAX_VALUE;
+
+    private int max = Integer.MIN_VALUE;
+
+    private long[] histogram = new long[0];
+
+    private long[] bandCounts = new long[0];
+
+    private long[] bandSums = new long[0];
+
+    private int[] bandMins = new int[0];
+
+    private int[] bandMaxs = new int[0];
+
+    public SalaryStatsAccumulator(int bucketSize, int ageBandWidth, double relativeAccuracy) {
+        this(bucketSize, ageBandWidth, new QuantileSketch(relativeAccuracy));
+    }
+
+    public SalaryStatsAccumulator(int bucketSize, int ageBandWidth) {
+        this(bucketSize, ageBandWidth, null);
+    }
+
+    private SalaryStatsAccumulator(int bucketSize, int ageBandWidth, QuantileSketch sketch) {
+        this.bucketSize = bucketSize;
+        this.ageBandWidth = ageBandWidth;
+        this.sketch = sketch;
+    }
+
+    public void accept(int salary, int age) {
+        if (salary < 0) {
+            return;
+        }
+        count++;
+        sum += salary;
+        min = Math.min(min, salary);
+        max = Math.max(max, salary);
+        if (sketch != null) {
+            sketch.add(salary);
+        }
+
+        int bucket = Math.min(salary / bucketSize, MAX_BUCKETS - 1);
+        ensureHistogram(bucket + 1);
+        histogram[bucket]++;
+
+        if (age >= 0) {
+            int band = Math.min(age / ageBandWidth, MAX_BUCKETS - 1);
+            ensureBands(band + 1);
+            bandCounts[band]++;
+            bandSums[band] += salary;
+            bandMins[band] = Math.min(bandMins[band], salary);
+            bandMaxs[band] = Math.max(bandMaxs[band], salary);
+        }
+    }
+
+    public void acceptRange(int[] salaries, int[] ages, int from, int to) {
+        for (int i = from; i < to; i++) {
+            accept(salaries[i], ages[i]);
+        }
+    }
+
+    public SalaryStatsAccumulator merge(SalaryStatsAccumulator other) {
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        if (sketch != null) {
+            sketch.merge(other.sketch);
+        }
+
+        ensureHistogram(other.histogram.length);
+        for (int i = 0; i < other.histogram.length; i++) {
+            histogram[i] += other.histogram[i];
+        }
+        ensureBands(other.bandCounts.length);
+        for (int i = 0; i < other.bandCounts.length; i++) {
+            bandCounts[i] += other.bandCounts[i];
+            bandSums[i] += other.bandSums[i];
+            bandMins[i] = Math.min(bandMins[i], other.bandMins[i]);
+            bandMaxs[i] = Math.max(bandMaxs[i], other.bandMaxs[i]);
+        }
+        return this;
+    }
+
+    private void ensureHistogram(int length) {
+        if (length <= histogram.length) {
+            return;
+        }
+        histogram = Arrays.copyOf(histogram, Math.min(MAX_BUCKETS, Math.max(length, histogram.length * 2)));
+    }
+
+    private void ensureBands(int length) {
+        if (length <= bandCounts.length) {
+            return;
+        }
+        int oldLength = bandCounts.length;
+        bandCounts = Arrays.copyOf(bandCounts, length);
+        bandSums = Arrays.copyOf(bandSums, length);
+        bandMins = Arrays.copyOf(bandMins, length);
+        bandMaxs = Arrays.copyOf(bandMaxs, length);
+        Arrays.fill(bandMins, oldLength, length, Integer.MAX_VALUE);
+        Arrays.fill(bandMaxs, oldLength, length, Integer.MIN_VALUE);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.rqchallenge.analytics;
+
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Fork-join aggregation of a column range: splits until a leaf is small enough, accumulates each
+ * leaf sequentially and merges the partial accumulators on the way back up.
+ */
+public class SalaryStatsTask extends RecursiveTask<SalaryStatsAccumulator> {
+
+    private final int[] salaries;
+
+    private final int[] ages;
+
+    private final int from;
+
+    private final int to;
+
+    private final int leafSize;
+
+    private final Supplier<SalaryStatsAccumulator> accumulatorFactory;
+
+    public SalaryStatsTask(int[] salaries, int[] ages, int from, int to, int leafSize,
+                           Supplier<SalaryStatsAccumulator> accumulatorFactory) {
+        this.salaries = salaries;
+        this.ages = ages;
+        this.from = from;
+        this.to = to;
+        this.leafSize = leafSize;
+        this.accumulatorFactory = accumulatorFactory;
+    }
+
+    @Override
+    protected SalaryStatsAccumulator compute() {
+        if (to - from <= leafSize) {
+            SalaryStatsAccumulator accumulator = accumulatorFactory.get();
+            accumulator.acceptRange(salaries, ages, from, to);
+            return accumulator;
+        }
+        int middle = (from + to) >>> 1;
+        SalaryStatsTask left = new SalaryStatsTask(salaries, ages, from, middle, leafSize, accumulatorFactory);
+        SalaryStatsTask right = new SalaryStatsTask(salaries, ages, middle, to, leafSize, accumulatorFactory);
+        left.fork();
+        return right.compute().merge(left.join());
+    }
+}
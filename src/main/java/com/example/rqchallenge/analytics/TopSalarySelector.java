@@ -0,0 +1,102 @@
+package com.example.rqchallenge.analytics;
+
+/**
+ * Keeps the indexes of the N highest salaries seen so far in a primitive min-heap, so selecting the
+ * top earners is O(n log N) in one pass instead of sorting the whole list. Ties keep the earlier
+ * index, matching a stable descending sort.
+ */
+public final class TopSalarySelector {
+
+    private final int limit;
+
+    private final int[] heapIndexes;
+
+    private final int[] heapSalaries;
+
+    private int size;
+
+    public TopSalarySelector(int limit) {
+        this.limit = limit;
+        this.heapIndexes = new int[limit];
+        this.heapSalaries = new int[limit];
+    }
+
+    public void offer(int index, int salary) {
+        if (limit == 0) {
+            return;
+        }
+        if (size < limit) {
+            heapIndexes[size] = index;
+            heapSalaries[size] = salary;
+            siftUp(size++);
+        } else if (ranksAbove(salary, index, heapSalaries[0], heapIndexes[0])) {
+            heapIndexes[0] = index;
+            heapSalaries[0] = salary;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * @return the selected indexes ordered from highest to lowest salary
+     */
+    public int[] toSortedIndexes() {
+        int[] indexes = new int[size];
+        // Copy the heap and drain it, the root is always the lowest ranked remaining entry
+        TopSalarySelector copy = new TopSalarySelector(limit);
+        System.arraycopy(heapIndexes, 0, copy.heapIndexes, 0, size);
+        System.arraycopy(heapSalaries, 0, copy.heapSalaries, 0, size);
+        copy.size = size;
+        for (int i = size - 1; i >= 0; i--) {
+            indexes[i] = copy.heapIndexes[0];
+            copy.size--;
+            copy.heapIndexes[0] = copy.heapIndexes[copy.size];
+            copy.heapSalaries[0] = copy.heapSalaries[copy.size];
+            copy.siftDown(0);
+        }
+        return indexes;
+    }
+
+    // Higher salary ranks above, on equal salary the earlier index does
+    private static boolean ranksAbove(int salary, int index, int otherSalary, int otherIndex) {
+        return salary > otherSalary || (salary == otherSalary && index < otherIndex);
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!ranksAbove(heapSalaries[parent], heapIndexes[parent], heapSalaries[position], heapIndexes[position])) {
+                return;
+            }
+            swap(parent, position);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int lowest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < size && ranksAbove(heapSalaries[lowest], heapIndexes[lowest], heapSalaries[left], heapIndexes[left])) {
+                lowest = left;
+            }
+            if (right < size && ranksAbove(heapSalaries[lowest], heapIndexes[lowest], heapSalaries[right], heapIndexes[right])) {
+                lowest = right;
+            }
+            if (lowest == position) {
+                return;
+            }
+            swap(lowest, position);
+            position = lowest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int index = heapIndexes[a];
+        heapIndexes[a] = heapIndexes[b];
+        heapIndexes[b] = index;
+        int salary = heapSalaries[a];
+        heapSalaries[a] = heapSalaries[b];
+        heapSalaries[b] = salary;
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.rqchallenge.bulkhead;
+
+import com.example.rqchallenge.exceptions.ServiceOverloadedException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bulkheads per endpoint class under one shared concurrency limit, with priority admission.
+ * <p>
+ * A request runs when both its class and the shared limit have a free slot. Otherwise it waits in a queue
+ * ordered by class priority, then arrival, and every released slot goes to the first waiter that fits, so
+ * cached reads overtake waiting writes while a full class never blocks the others. A request is shed
+ * straight away when its class queue is full or the estimated wait exceeds the class latency target, and
+ * also when it has waited for the latency target without getting a slot.
+ */
+@Slf4j
+public class AdmissionController {
+
+    // Weight of the latest service time in the moving average used to estimate queue waits
+    private static final double SERVICE_TIME_WEIGHT = 0.2;
+
+    private final int maxConcurrent;
+
+    private final Map<EndpointClass, BulkheadLimits> limits;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final TreeSet<Waiter> waiters = new TreeSet<>(Comparator
+            .comparing((Waiter waiter) -> waiter.endpointClass)
+            .thenComparingLong(waiter -> waiter.sequence));
+
+    private final int[] running = new int[EndpointClass.values().length];
+
+    private final int[] queued = new int[EndpointClass.values().length];
+
+    private final double[] serviceTimeMillis = new double[EndpointClass.values().length];
+
+    private int totalRunning;
+
+    private long sequence;
+
+    public AdmissionController(int maxConcurrent, Map<EndpointClass, BulkheadLimits> limits) {
+        if (maxConcurrent < 1 || !limits.keySet().containsAll(EnumSet.allOf(EndpointClass.class))) {
+            throw new IllegalArgumentException("Every endpoint class needs limits and the total must be positive");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.limits = new EnumMap<>(limits);
+    }
+
+    /**
+     * Waits for a slot in the bulkhead of the endpoint class.
+     *
+     * @return permit to release once the request completed
+     * @throws ServiceOverloadedException when the request is shed
+     */
+    public Permit acquire(EndpointClass endpointClass) {
+        BulkheadLimits classLimits = limits.get(endpointClass);
+        Waiter waiter = null;
+        lock.lock();
+        try {
+            if (fits(endpointClass)) {
+                occupy(endpointClass);
+                return new Permit(this, endpointClass, System.nanoTime());
+            }
+            long estimatedWaitMillis = estimatedWaitMillis(endpointClass);
+            if (queued[endpointClass.ordinal()] >= classLimits.getMaxQueued()
+                    || estimatedWaitMillis > classLimits.getLatencyTargetMillis()) {
+                throw shed(endpointClass, estimatedWaitMillis);
+            }
+            waiter = new Waiter(endpointClass, sequence++, lock.newCondition());
+            waiters.add(waiter);
+            queued[endpointClass.ordinal()]++;
+
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(classLimits.getLatencyTargetMillis());
+            while (!waiter.granted && remainingNanos > 0) {
+                remainingNanos = waiter.condition.awaitNanos(remainingNanos);
+            }
+            if (waiter.granted) {
+                return new Permit(this, endpointClass, System.nanoTime());
+            }
+            waiters.remove(waiter);
+            queued[endpointClass.ordinal()]--;
+            throw shed(endpointClass, estimatedWaitMillis(endpointClass));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (waiter.granted) {
+                // The slot was handed over just before the interrupt, pass it on
+                vacate(endpointClass);
+            } else {
+                waiters.remove(waiter);
+                queued[endpointClass.ordinal()]--;
+            }
+            throw shed(endpointClass, estimatedWaitMillis(endpointClass));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int running(EndpointClass endpointClass) {
+        lock.lock();
+        try {
+            return running[endpointClass.ordinal()];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int queued(EndpointClass endpointClass) {
+        lock.lock();
+        try {
+            return queued[endpointClass.ordinal()];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(Permit permit) {
+        int index = permit.endpointClass.ordinal();
+        double elapsedMillis = (System.nanoTime() - permit.startedAt) / 1_000_000.0;
+        lock.lock();
+        try {
+            serviceTimeMillis[index] = serviceTimeMillis[index] == 0
+                    ? elapsedMillis
+                    : serviceTimeMillis[index] + SERVICE_TIME_WEIGHT * (elapsedMillis - serviceTimeMillis[index]);
+            vacate(permit.endpointClass);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Hands free slots to waiters in priority order, skipping those whose own class is still full
+    private void grantWaiters() {
+        Iterator<Waiter> iterator = waiters.iterator();
+        while (iterator.hasNext() && totalRunning < maxConcurrent) {
+            Waiter waiter = iterator.next();
+            if (fits(waiter.endpointClass)) {
+                iterator.remove();
+                queued[waiter.endpointClass.ordinal()]--;
+                occupy(waiter.endpointClass);
+                waiter.granted = true;
+                waiter.condition.signal();
+            }
+        }
+    }
+
+    private boolean fits(EndpointClass endpointClass) {
+        return totalRunning < maxConcurrent
+                && running[endpointClass.ordinal()] < limits.get(endpointClass).getMaxConcurrent();
+    }
+
+    private void occupy(EndpointClass endpointClass) {
+        running[endpointClass.ordinal()]++;
+        totalRunning++;
+    }
+
+    private void vacate(EndpointClass endpointClass) {
+        running[endpointClass.ordinal()]--;
+        totalRunning--;
+        grantWaiters();
+    }
+
+    // Everyone queued ahead in this class has to finish first, spread over the slots of the class
+    private long estimatedWaitMillis(EndpointClass endpointClass) {
+        int index = endpointClass.ordinal();
+        return (long) Math.ceil((queued[index] + 1) * serviceTimeMillis[index]
+                / limits.get(endpointClass).getMaxConcurrent());
+    }
+
+    private ServiceOverloadedException shed(EndpointClass endpointClass, long estimatedWaitMillis) {
+        log.warn("Shedding {} request, {} running and {} queued", endpointClass,
+                running[endpointClass.ordinal()], queued[endpointClass.ordinal()]);
+        long retryAfterSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(estimatedWaitMillis + 999));
+        return new ServiceOverloadedException("Too many " + endpointClass.getPropertyName() + " requests, retry later",
+                retryAfterSeconds);
+    }
+
+    private static final class Waiter {
+
+        private final EndpointClass endpointClass;
+        private final long sequence;
+        private final Condition condition;
+        private boolean granted;  // guarded by the lock
+
+        private Waiter(EndpointClass endpointClass, long sequence, Condition condition) {
+            this.endpointClass = endpointClass;
+            this.sequence = sequence;
+            this.condition = condition;
+        }
+    }
+
+    /**
+     * A slot in a bulkhead, released exactly once when the request completes.
+     */
+    public static final class Permit {
+
+        private final AdmissionController owner;
+        private final EndpointClass endpointClass;
+        private final long startedAt;
+        private boolean released;
+
+        private Permit(AdmissionController owner, EndpointClass endpointClass, long startedAt) {
+            this.owner = owner;
+            this.endpointClass = endpointClass;
+            this.startedAt = startedAt;
+        }
+
+        public EndpointClass getEndpointClass() {
+            return endpointClass;
+        }
+
+        public void release() {
+            if (!released) {
+                released = true;
+                owner.release(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.rqchallenge.bulkhead;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Admits requests to handler methods annotated with {@link Bulkhead} through the admission controller.
+ * <p>
+ * Runs after the servlet filters, so conditional GETs answered with 304 and byte cache hits never queue.
+ * A shed request surfaces as a ServiceOverloadedException handled by the global exception handler.
+ */
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    static final String PERMIT_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".permit";
+
+    private final AdmissionController admissionController;
+
+    public AdmissionInterceptor(AdmissionController admissionController) {
+        this.admissionController = admissionController;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            Bulkhead bulkhead = ((HandlerMethod) handler).getMethodAnnotation(Bulkhead.class);
+            if (bulkhead != null) {
+                request.setAttribute(PERMIT_ATTRIBUTE, admissionController.acquire(bulkhead.value()));
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit instanceof AdmissionController.Permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            ((AdmissionController.Permit) permit).release();
+        }
+    }
+}
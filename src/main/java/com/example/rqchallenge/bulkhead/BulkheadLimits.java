@@ -0,0 +1,26 @@
+package com.example.rqchallenge.bulkhead;
+
+import lombok.Getter;
+
+/**
+ * Limits of one endpoint class: requests running at once, requests waiting for a slot, and how long a
+ * request may wait before it is shed.
+ */
+@Getter
+public final class BulkheadLimits {
+
+    private final int maxConcurrent;
+
+    private final int maxQueued;
+
+    private final long latencyTargetMillis;
+
+    public BulkheadLimits(int maxConcurrent, int maxQueued, long latencyTargetMillis) {
+        if (maxConcurrent < 1 || maxQueued < 0 || latencyTargetMillis < 0) {
+            throw new IllegalArgumentException("Bulkhead limits must be positive");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.latencyTargetMillis = latencyTargetMillis;
+    }
+}
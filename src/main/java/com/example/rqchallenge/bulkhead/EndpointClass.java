@@ -0,0 +1,21 @@
+package com.example.rqchallenge.bulkhead;
+
+/**
+ * Endpoint classes with their own bulkhead, declared from highest to lowest admission priority.
+ */
+public enum EndpointClass {
+
+    CACHED_READ("cached-read"),      // answered from the in-memory snapshot and its indexes
+    EXPENSIVE_READ("expensive-read"), // full list serialization or a computation over every employee
+    SLOW_CALL("slow-call");          // blocks on the upstream API or on the disk
+
+    private final String propertyName;
+
+    EndpointClass(String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+}
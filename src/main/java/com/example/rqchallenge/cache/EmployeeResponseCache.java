@@ -0,0 +1,103 @@
+package com.example.rqchallenge.cache;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Size-bounded LRU cache of serialized response bodies, keyed by endpoint/query and tagged with
+ * the snapshot version they were rendered from. Entries from an older version are treated as misses.
+ */
+@Slf4j
+public class EmployeeResponseCache {
+
+    private final long maxBytes;
+
+    private final int gzipMinBytes;
+
+    // Access-ordered so iteration starts from the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    private long currentBytes;
+
+    public EmployeeResponseCache(long maxBytes, int gzipMinBytes) {
+        this.maxBytes = maxBytes;
+        this.gzipMinBytes = gzipMinBytes;
+    }
+
+    public synchronized Entry get(String key, long version) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.getVersion() == version ? entry : null;
+    }
+
+    public Entry put(String key, long version, String contentType, byte[] body) {
+        // Compress outside the lock, it is by far the most expensive part of a put
+        byte[] gzipBody = body.length >= gzipMinBytes ? gzip(body) : null;
+        Entry entry = new Entry(version, contentType, body, gzipBody);
+        if (entry.size() > maxBytes) {
+            log.debug("Response for {} is too large to cache ({} bytes)", key, entry.size());
+            return entry;
+        }
+
+        synchronized (this) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                currentBytes -= previous.size();
+            }
+            currentBytes += entry.size();
+            evictIfNeeded();
+        }
+        return entry;
+    }
+
+    public synchronized long sizeInBytes() {
+        return currentBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && iterator.hasNext()) {
+            currentBytes -= iterator.next().getValue().size();
+            iterator.remove();
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress cached response", e);
+        }
+        return out.toByteArray();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Entry {
+
+        private final long version;
+
+        private final String contentType;
+
+        private final byte[] body;
+
+        private final byte[] gzipBody;  // null when the body is below the compression threshold
+
+        public long size() {
+            return body.length + (gzipBody != null ? gzipBody.length : 0);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.rqchallenge.cluster;
+
+import com.example.rqchallenge.constants.AppConstants;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Statically configured cluster of service instances sharing one upstream fetch per refresh cycle.
+ * Every member derives the same leader for a cycle from the sorted member list, the leader fetches
+ * from upstream and the others pull its snapshot over HTTP. A follower that cannot reach the leader
+ * falls back to fetching upstream itself.
+ */
+@Slf4j
+@Component
+public class ClusterSnapshotClient {
+
+    private final boolean enabled;
+
+    private final String selfUrl;
+
+    private final List<String> members;
+
+    private final long cycleMillis;
+
+    private final Duration timeout;
+
+    private final WebClient webClient;
+
+    public ClusterSnapshotClient(@Value("${employee.cluster.enabled:false}") boolean enabled,
+                                 @Value("${employee.cluster.self-url:}") String selfUrl,
+                                 @Value("${employee.cluster.peers:}") String peers,
+                                 @Value("${employee.cluster.cycle-ms:10000}") long cycleMillis,
+                                 @Value("${employee.cluster.timeout-ms:2000}") long timeoutMillis,
+                                 @Value("${employee.cluster.max-snapshot-bytes:67108864}") int maxSnapshotBytes,
+                                 WebClient.Builder webClientBuilder) {
+        this.selfUrl = normalize(selfUrl);
+        this.enabled = enabled && !this.selfUrl.isEmpty();
+        this.members = members(this.selfUrl, peers);
+        this.cycleMillis = cycleMillis;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        // The default 256 KB buffer limit is below the gzipped snapshot of a few ten thousand employees
+        this.webClient = webClientBuilder
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(maxSnapshotBytes))
+                .build();
+        if (this.enabled) {
+            log.info("Cluster snapshot sharing enabled as {} with members {}", this.selfUrl, members);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String leaderFor(long now) {
+        return members.get((int) Math.floorMod(now / cycleMillis, (long) members.size()));
+    }
+
+    /**
+     * @return the leader's snapshot, or empty when this instance is the leader, clustering is off, the
+     * leader could not be reached or has no data yet, in which case the caller fetches from upstream
+     */
+    public Optional<EmployeeSnapshot> fetchFromLeader() {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String leader = leaderFor(System.currentTimeMillis());
+        if (leader.equals(selfUrl)) {
+            return Optional.empty();
+        }
+        try {
+            byte[] body = webClient.get()
+                    .uri(leader + AppConstants.CLUSTER_SNAPSHOT_PATH)
+                    .accept(MediaType.APPLICATION_OCTET_STREAM)
+                    .retrieve()
+                    .bodyToMono(byte[].class)
+                    .timeout(timeout)
+                    .block();
+            EmployeeSnapshot snapshot = SnapshotCodec.decode(body);
+            // A leader whose first upstream fetch failed would otherwise replace good data with an empty list
+            if (snapshot.getVersion() == 0 || snapshot.getFetchedAt() == 0) {
+                log.warn("Snapshot peer {} has no data yet, falling back to upstream", leader);
+                return Optional.empty();
+            }
+            log.debug("Pulled snapshot version {} with {} employees from {}", snapshot.getVersion(),
+                    snapshot.getEmployees().size(), leader);
+            return Optional.of(snapshot);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Snapshot peer {} unavailable, falling back to upstream: {}", leader, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static List<String> members(String selfUrl, String peers) {
+        TreeSet<String> members = new TreeSet<>();
+        if (!selfUrl.isEmpty()) {
+            members.add(selfUrl);
+        }
+        Arrays.stream(peers.split(","))
+                .map(ClusterSnapshotClient::normalize)
+                .filter(peer -> !peer.isEmpty())
+                .forEach(members::add);
+        return members.isEmpty() ? List.of("") : new ArrayList<>(members);
+    }
+
+    private static String normalize(String url) {
+        String trimmed = url == null ? "" : url.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.rqchallenge.cluster;
+
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compact binary form of a snapshot exchanged between cluster peers: a gzipped stream of the
+ * snapshot version, fetch time and length-prefixed UTF-8 employee fields.
+ */
+public final class SnapshotCodec {
+
+    private static final int MAGIC = 0x454d5053;  // "EMPS"
+
+    // 2: fields are length-prefixed UTF-8, modified UTF-8 from writeUTF was limited to 65535 bytes
+    private static final byte FORMAT_VERSION = 2;
+
+    private SnapshotCodec() {
+    }
+
+    public static byte[] encode(EmployeeSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(snapshot.getEmployees().size() * 32 + 64);
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(snapshot.getVersion());
+            out.writeLong(snapshot.getFetchedAt());
+            out.writeInt(snapshot.getEmployees().size());
+            for (Employee employee : snapshot.getEmployees()) {
+                writeNullable(out, employee.getId());
+                writeNullable(out, employee.getEmployeeName());
+                writeNullable(out, employee.getEmployeeSalary());
+                writeNullable(out, employee.getEmployeeAge());
+                writeNullable(out, employee.getProfileImage());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    public static EmployeeSnapshot decode(byte[] encoded) throws IOException {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(encoded)))) {
+            if (in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) {
+                throw new IOException("Not an employee snapshot in a supported format");
+            }
+            long version = in.readLong();
+            long fetchedAt = in.readLong();
+            int count = in.readInt();
+            List<Employee> employees = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                employees.add(new Employee(readNullable(in), readNullable(in), readNullable(in), readNullable(in), readNullable(in)));
+            }
+            return new EmployeeSnapshot(version, Collections.unmodifiableList(employees), fetchedAt);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0) {
+            throw new IOException("Corrupt employee snapshot, field length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.rqchallenge.config;
+
+import com.example.rqchallenge.bulkhead.AdmissionController;
+import com.example.rqchallenge.bulkhead.AdmissionInterceptor;
+import com.example.rqchallenge.bulkhead.BulkheadLimits;
+import com.example.rqchallenge.bulkhead.EndpointClass;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "employee.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadConfig implements WebMvcConfigurer {
+
+    private static final String PROPERTY_PREFIX = "employee.bulkhead.";
+
+    @Value("${employee.bulkhead.max-concurrent:48}")
+    private int maxConcurrent;
+
+    private final Environment environment;
+
+    public BulkheadConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * Limits per endpoint class come from employee.bulkhead.{class}.max-concurrent, .max-queued and
+     * .latency-target-ms, e.g. employee.bulkhead.slow-call.max-concurrent.
+     */
+    @Bean
+    public AdmissionController admissionController() {
+        Map<EndpointClass, BulkheadLimits> limits = new EnumMap<>(EndpointClass.class);
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String prefix = PROPERTY_PREFIX + endpointClass.getPropertyName() + ".";
+            limits.put(endpointClass, new BulkheadLimits(
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, maxConcurrent),
+                    environment.getProperty(prefix + "max-queued", Integer.class, maxConcurrent),
+                    environment.getProperty(prefix + "latency-target-ms", Long.class, 1000L)));
+        }
+        return new AdmissionController(maxConcurrent, limits);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionInterceptor(admissionController()));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.rqchallenge.config;
+
+import com.example.rqchallenge.controller.ClusterController;
+import com.example.rqchallenge.controller.IEmployeeController;
+import com.example.rqchallenge.service.EmployeeSearchService;
+import com.example.rqchallenge.service.EmployeeService;
+import com.example.rqchallenge.service.SalaryAnalyticsService;
+import com.example.rqchallenge.service.WriteBehindService;
+import com.example.rqchallenge.store.EmployeeStore;
+import com.example.rqchallenge.sync.EmployeeChangeFeed;
+import com.example.rqchallenge.sync.EmployeeSyncEngine;
+import com.example.rqchallenge.warmup.StartupWarmup;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Support for the fast-start profile (application-fast-start.properties): lazy initialization
+ * exclusions, the pre-readiness warm-up and the exit hook used by the AppCDS training run.
+ */
+@Slf4j
+@Configuration
+public class FastStartConfig {
+
+    @Value("${employee.fast-start.exit-on-ready:false}")
+    private boolean exitOnReady;
+
+    /**
+     * With spring.main.lazy-initialization the request path and background work stay eager: the first
+     * request shouldn't build controllers and services, and the sync engine, write-behind journal
+     * replay and change feed have to run without anyone asking for them. Everything else (unused
+     * auto-configuration, codecs, executors) is only created when first needed.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter employeeEagerBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(IEmployeeController.class, ClusterController.class,
+                EmployeeService.class, EmployeeSearchService.class, SalaryAnalyticsService.class,
+                WriteBehindService.class, EmployeeStore.class, EmployeeChangeFeed.class, EmployeeSyncEngine.class);
+    }
+
+    /**
+     * Warms up every Jackson mapper used for HTTP content negotiation (JSON, Smile, CBOR) and the
+     * upstream WebClient, with exchange strategies customized the same way Boot customizes the
+     * WebClient.Builder, and its Reactor Netty connector with one exchange against a loopback stub.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "employee.warmup.enabled", havingValue = "true")
+    public StartupWarmup startupWarmup(ObjectProvider<HttpMessageConverters> messageConverters,
+                                       ObjectProvider<CodecCustomizer> codecCustomizers,
+                                       WebClient webClient,
+                                       @Value("${employee.warmup.employee-count:50}") int employeeCount,
+                                       @Value("${employee.warmup.iterations:500}") int iterations,
+                                       @Value("${employee.warmup.max-duration-ms:5000}") long maxDurationMillis) {
+        // Spring MVC registers the Smile and CBOR converters itself, they are not beans
+        List<ObjectMapper> objectMappers = messageConverters.stream()
+                .flatMap(converters -> converters.getConverters().stream())
+                .filter(AbstractJackson2HttpMessageConverter.class::isInstance)
+                .map(converter -> ((AbstractJackson2HttpMessageConverter) converter).getObjectMapper())
+                .distinct()
+                .collect(Collectors.toList());
+        ExchangeStrategies exchangeStrategies = ExchangeStrategies.builder()
+                .codecs(configurer -> codecCustomizers.orderedStream().forEach(customizer -> customizer.customize(configurer)))
+                .build();
+        return new StartupWarmup(objectMappers, webClient, exchangeStrategies, employeeCount, iterations, maxDurationMillis);
+    }
+
+    // Used by the appCdsArchive Gradle task: start, warm up, then exit so the loaded classes get recorded
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (exitOnReady) {
+            log.info("Application ready, exiting as requested by employee.fast-start.exit-on-ready");
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.rqchallenge.config;
+
+import com.example.rqchallenge.cache.EmployeeResponseCache;
+import com.example.rqchallenge.filter.EmployeeConditionalGetFilter;
+import com.example.rqchallenge.filter.EmployeeResponseCacheFilter;
+import com.example.rqchallenge.service.EmployeeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class WebConfig {
+
+    private static final String EMPLOYEE_URL_PATTERN = "/api/v1/employees/*";
+
+    @Value("${employee.http.cache-max-age-seconds:5}")
+    private long cacheMaxAgeSeconds;
+
+    @Value("${employee.response-cache.max-bytes:16777216}")
+    private long responseCacheMaxBytes;
+
+    @Value("${employee.response-cache.gzip-min-bytes:1024}")
+    private int responseCacheGzipMinBytes;
+
+    @Bean
+    public EmployeeResponseCache employeeResponseCache() {
+        return new EmployeeResponseCache(responseCacheMaxBytes, responseCacheGzipMinBytes);
+    }
+
+    // Conditional GET runs first so a 304 never touches the byte cache or the controller
+    @Bean
+    public FilterRegistrationBean<EmployeeConditionalGetFilter> employeeConditionalGetFilter(EmployeeService employeeService) {
+        FilterRegistrationBean<EmployeeConditionalGetFilter> registration =
+                new FilterRegistrationBean<>(new EmployeeConditionalGetFilter(employeeService, cacheMaxAgeSeconds));
+        registration.addUrlPatterns(EMPLOYEE_URL_PATTERN);
+        registration.setOrder(1);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<EmployeeResponseCacheFilter> employeeResponseCacheFilter(
+            EmployeeService employeeService, EmployeeResponseCache employeeResponseCache) {
+        FilterRegistrationBean<EmployeeResponseCacheFilter> registration =
+                new FilterRegistrationBean<>(new EmployeeResponseCacheFilter(employeeService, employeeResponseCache));
+        registration.addUrlPatterns(EMPLOYEE_URL_PATTERN);
+        registration.setOrder(2);
+        return registration;
+    }
+}
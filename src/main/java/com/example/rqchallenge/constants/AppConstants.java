@@ -7,4 +7,21 @@ public class AppConstants {
     public static final String DELETE_EMPLOYEE = "/api/v1/delete/{id}";
     public static final String ID_REGEX = "\\d+";
     public static final String INVALID_EMPLOYEE_ID_FORMAT = "Invalid employee ID format";
+    public static final String CLUSTER_SNAPSHOT_PATH = "/internal/v1/cluster/snapshot";
+    public static final String SNAPSHOT_VERSION_HEADER = "X-Snapshot-Version";
+    public static final int MAX_SUMMARY_TOP_N = 1000;
+    public static final int MAX_SEARCH_LIMIT = 1000;
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+    public static final String APPLICATION_CBOR = "application/cbor";
+    public static final String[] SNAPSHOT_BACKED_PATHS = {
+            "/api/v1/employees",
+            "/api/v1/employees/highestSalary",
+            "/api/v1/employees/topTenHighestEarningEmployeeNames",
+            "/api/v1/employees/salaryStats",
+            "/api/v1/employees/summary",
+            "/api/v1/employees/search/*",
+            "/api/v1/employees/search/fuzzy/*",
+            "/api/v1/employees/autocomplete/*",
+            "/api/v1/employees/range"
+    };
 }
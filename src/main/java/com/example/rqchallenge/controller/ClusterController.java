@@ -0,0 +1,71 @@
+package com.example.rqchallenge.controller;
+
+import com.example.rqchallenge.cluster.ClusterSnapshotClient;
+import com.example.rqchallenge.cluster.SnapshotCodec;
+import com.example.rqchallenge.constants.AppConstants;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import com.example.rqchallenge.service.EmployeeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class ClusterController {
+
+    @Autowired
+    private final EmployeeService employeeService;
+
+    @Autowired
+    private final ClusterSnapshotClient clusterSnapshotClient;
+
+    // Last encoded snapshot, every follower asks for the same version within a cycle
+    private volatile EncodedSnapshot lastEncoded;
+
+    /**
+     * the current snapshot in the compact binary peer format
+     *
+     * @return gzipped snapshot bytes, the version is repeated in a header
+     */
+    @GetMapping(value = AppConstants.CLUSTER_SNAPSHOT_PATH, produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> getSnapshot() throws IOException {
+        if (!clusterSnapshotClient.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Cluster mode is not enabled");
+        }
+        EmployeeSnapshot snapshot = employeeService.getSnapshotForPeer();
+        if (snapshot.getVersion() == 0) {
+            // Nothing loaded from upstream yet, the follower has to go upstream itself
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "No employee snapshot loaded yet");
+        }
+        EncodedSnapshot encoded = lastEncoded;
+        if (encoded == null || encoded.version != snapshot.getVersion()) {
+            encoded = new EncodedSnapshot(snapshot.getVersion(), SnapshotCodec.encode(snapshot));
+            lastEncoded = encoded;
+        }
+        log.debug("Serving snapshot version {} to peer ({} bytes)", encoded.version, encoded.bytes.length);
+        return ResponseEntity.ok()
+                .header(AppConstants.SNAPSHOT_VERSION_HEADER, String.valueOf(encoded.version))
+                .body(encoded.bytes);
+    }
+
+    private static final class EncodedSnapshot {
+
+        private final long version;
+
+        private final byte[] bytes;
+
+        private EncodedSnapshot(long version, byte[] bytes) {
+            this.version = version;
+            this.bytes = bytes;
+        }
+    }
+}
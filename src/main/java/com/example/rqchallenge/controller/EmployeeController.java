@@ -1,17 +1,39 @@
 package com.example.rqchallenge.controller;
 
+import com.example.rqchallenge.bulkhead.Bulkhead;
+import com.example.rqchallenge.bulkhead.EndpointClass;
 import com.example.rqchallenge.constants.AppConstants;
 import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeePage;
+import com.example.rqchallenge.model.EmployeeRangeQuery;
+import com.example.rqchallenge.model.EmployeeSortField;
+import com.example.rqchallenge.model.EmployeeSummary;
+import com.example.rqchallenge.model.SalaryStatistics;
+import com.example.rqchallenge.model.SuggestionOrder;
+import com.example.rqchallenge.model.SummaryComponent;
+import com.example.rqchallenge.model.WriteStatus;
+import com.example.rqchallenge.service.EmployeeSearchService;
 import com.example.rqchallenge.service.EmployeeService;
+import com.example.rqchallenge.service.SalaryAnalyticsService;
+import com.example.rqchallenge.service.WriteBehindService;
+import com.example.rqchallenge.sync.EmployeeChangeFeed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.validation.constraints.Pattern;
+import java.net.URI;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequiredArgsConstructor
@@ -21,11 +43,27 @@ public class EmployeeController implements IEmployeeController {
     @Autowired
     private final EmployeeService employeeService;
 
+    @Autowired
+    private final SalaryAnalyticsService salaryAnalyticsService;
+
+    @Autowired
+    private final EmployeeChangeFeed changeFeed;
+
+    @Autowired
+    private final WriteBehindService writeBehindService;
+
+    @Autowired
+    private final EmployeeSearchService employeeSearchService;
+
+    @Value("${employee.sync.sse-timeout-ms:1800000}")
+    private long sseTimeoutMillis = 1800000;
+
     /**
      * all employees whose name contains or matches the string input provided
      *
      * @return list of employees
      */
+    @Bulkhead(EndpointClass.EXPENSIVE_READ)
     @GetMapping
     public ResponseEntity<List<Employee>> getAllEmployees() {
         log.debug("Request to fetch all employees received");
@@ -40,6 +78,7 @@ public class EmployeeController implements IEmployeeController {
      * @param searchString
      * @return list of employees
      */
+    @Bulkhead(EndpointClass.CACHED_READ)
     @GetMapping("/search/{searchString}")
     public ResponseEntity<List<Employee>> getEmployeesByNameSearch(@PathVariable String searchString) {
         log.debug("Search request for employees with name containing: {}", searchString);
@@ -48,12 +87,96 @@ public class EmployeeController implements IEmployeeController {
         return ResponseEntity.ok(employees);
     }
 
+    /**
+     * employees whose name matches the input allowing for typos, best match first: exact token matches
+     * rank above prefix matches, which rank above matches within the edit distance
+     *
+     * @param searchString one or more name tokens, every token has to match
+     * @param maxDistance  maximum edit distance per token, defaults to employee.search.fuzzy.max-distance
+     * @param limit        maximum number of employees to return
+     * @return ranked list of employees
+     */
+    @Bulkhead(EndpointClass.CACHED_READ)
+    @GetMapping("/search/fuzzy/{searchString}")
+    public ResponseEntity<List<Employee>> getEmployeesByFuzzyNameSearch(
+            @PathVariable String searchString,
+            @RequestParam(required = false) Integer maxDistance,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.debug("Fuzzy search request for employees with name like: {}", searchString);
+        List<Employee> employees = employeeSearchService.fuzzySearch(searchString, maxDistance, limit);
+        log.info("Found {} employees matching fuzzy search criteria", employees.size());
+        return ResponseEntity.ok(employees);
+    }
+
+    /**
+     * autocomplete suggestions for a partially typed name, answered from a prefix trie with the
+     * suggestions precomputed per node
+     *
+     * @param prefix start of a first name, last name or full name
+     * @param sort   salary (highest first) or name
+     * @param limit  maximum number of suggestions, at most employee.search.autocomplete.suggestions
+     * @return suggested employees
+     */
+    @Bulkhead(EndpointClass.CACHED_READ)
+    @GetMapping("/autocomplete/{prefix}")
+    public ResponseEntity<List<Employee>> getEmployeeNameSuggestions(
+            @PathVariable String prefix,
+            @RequestParam(defaultValue = "salary") String sort,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.debug("Autocomplete request for prefix: {}", prefix);
+        SuggestionOrder order = SuggestionOrder.fromParameterName(sort)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown sort order: " + sort));
+        List<Employee> employees = employeeSearchService.autocomplete(prefix, order, limit);
+        log.debug("Suggested {} employees for prefix {}", employees.size(), prefix);
+        return ResponseEntity.ok(employees);
+    }
+
+    /**
+     * employees within salary and/or age bounds, answered from sorted indexes by binary search
+     *
+     * @param minSalary lowest salary, inclusive
+     * @param maxSalary highest salary, inclusive
+     * @param minAge    lowest age, inclusive
+     * @param maxAge    highest age, inclusive
+     * @param name      optional name filter, matched like the name search
+     * @param sort      salary, age or name
+     * @param order     asc or desc
+     * @param page      zero-based page number
+     * @param size      page size
+     * @return requested page with the total number of matches
+     */
+    @Bulkhead(EndpointClass.CACHED_READ)
+    @GetMapping("/range")
+    public ResponseEntity<EmployeePage> getEmployeesByRange(
+            @RequestParam(required = false) Integer minSalary,
+            @RequestParam(required = false) Integer maxSalary,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) String name,
+            @RequestParam(defaultValue = "salary") String sort,
+            @RequestParam(defaultValue = "asc") String order,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        log.debug("Range request for salary {}-{} and age {}-{}", minSalary, maxSalary, minAge, maxAge);
+        EmployeeSortField sortField = EmployeeSortField.fromParameterName(sort)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown sort field: " + sort));
+        if (!"asc".equalsIgnoreCase(order) && !"desc".equalsIgnoreCase(order)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "order must be asc or desc");
+        }
+
+        EmployeePage result = employeeSearchService.rangeSearch(new EmployeeRangeQuery(minSalary, maxSalary, minAge, maxAge,
+                name, sortField, "desc".equalsIgnoreCase(order), page, size));
+        log.info("Found {} employees in range, returning {}", result.getTotal(), result.getEmployees().size());
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * return a single employee
      *
      * @param id
      * @return employee
      */
+    @Bulkhead(EndpointClass.SLOW_CALL)
     @GetMapping("/{id}")
     public ResponseEntity<Employee> getEmployeeById(
             @PathVariable @Pattern(regexp = AppConstants.ID_REGEX, message = AppConstants.INVALID_EMPLOYEE_ID_FORMAT) String id) {
@@ -68,6 +191,7 @@ public class EmployeeController implements IEmployeeController {
      *
      * @return integer of the highest salary
      */
+    @Bulkhead(EndpointClass.CACHED_READ)
     @GetMapping("/highestSalary")
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
         log.debug("Request to fetch highest salary among employees");
@@ -76,11 +200,32 @@ public class EmployeeController implements IEmployeeController {
         return ResponseEntity.ok(highestSalary);
     }
 
+    /**
+     * salary distribution computed server-side in a single pass over the employee data
+     *
+     * @param percentiles  percentiles to report, between 0 and 100
+     * @param bucketSize   salary width of each histogram bucket
+     * @param ageBandWidth age width of each age band
+     * @return count, min, max, mean, median, percentiles, histogram and age band breakdown
+     */
+    @Bulkhead(EndpointClass.EXPENSIVE_READ)
+    @GetMapping("/salaryStats")
+    public ResponseEntity<SalaryStatistics> getSalaryStatistics(
+            @RequestParam(defaultValue = "50,90,99") List<Double> percentiles,
+            @RequestParam(defaultValue = "50000") int bucketSize,
+            @RequestParam(defaultValue = "10") int ageBandWidth) {
+        log.debug("Request to fetch salary statistics for percentiles {}", percentiles);
+        SalaryStatistics statistics = salaryAnalyticsService.getSalaryStatistics(percentiles, bucketSize, ageBandWidth);
+        log.info("Successfully computed salary statistics over {} employees", statistics.getCount());
+        return ResponseEntity.ok(statistics);
+    }
+
     /**
      * a list of the top 10 employees based off of their salaries
      *
      * @return list of employees
      */
+    @Bulkhead(EndpointClass.CACHED_READ)
     @GetMapping("/topTenHighestEarningEmployeeNames")
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
         log.debug("Request to fetch top ten highest earning employee names");
@@ -95,6 +240,7 @@ public class EmployeeController implements IEmployeeController {
      * @param employeeInput
      * @return string of the status (i.e. success)
      */
+    @Bulkhead(EndpointClass.SLOW_CALL)
     @PostMapping
     public ResponseEntity<String> createEmployee(@RequestBody Map<String, Object> employeeInput) {
         log.debug("Request to create new employee with data: {}", employeeInput);
@@ -108,12 +254,100 @@ public class EmployeeController implements IEmployeeController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * count, highest salary, top earner names and search hits computed from one fetch in one pass
+     *
+     * @param include components to compute: count, highestSalary, topEarnerNames, searchHits
+     * @param topN    number of top earner names to return
+     * @param search  optional name search, implies searchHits
+     * @return summary holding only the requested components
+     */
+    @Bulkhead(EndpointClass.EXPENSIVE_READ)
+    @GetMapping("/summary")
+    public ResponseEntity<EmployeeSummary> getEmployeeSummary(
+            @RequestParam(defaultValue = "count,highestSalary,topEarnerNames") List<String> include,
+            @RequestParam(defaultValue = "10") int topN,
+            @RequestParam(required = false) String search) {
+        log.debug("Request to fetch employee summary with components {}", include);
+        Set<SummaryComponent> components = EnumSet.noneOf(SummaryComponent.class);
+        for (String name : include) {
+            components.add(SummaryComponent.fromParameterName(name)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown summary component: " + name)));
+        }
+        if (search != null) {
+            components.add(SummaryComponent.SEARCH_HITS);
+        } else if (components.contains(SummaryComponent.SEARCH_HITS)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "searchHits requires a search parameter");
+        }
+        if (topN < 1 || topN > AppConstants.MAX_SUMMARY_TOP_N) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "topN must be between 1 and " + AppConstants.MAX_SUMMARY_TOP_N);
+        }
+
+        EmployeeSummary summary = employeeService.getEmployeeSummary(components, topN, search);
+        log.info("Successfully computed employee summary for version {}", summary.getVersion());
+        return ResponseEntity.ok(summary);
+    }
+
+    /**
+     * stream of added/updated/removed employee events as Server-Sent Events
+     *
+     * @param lastEventIdHeader id of the last event the client received, sent automatically on reconnect
+     * @param lastEventId       same as the header, for clients that cannot set headers
+     * @return emitter replaying missed events and then streaming live ones
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEmployeeChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) String lastEventId) {
+        String resumeFrom = lastEventIdHeader != null ? lastEventIdHeader : lastEventId;
+        log.debug("Change feed subscription received, resuming after event {}", resumeFrom);
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+        changeFeed.subscribe(emitter, resumeFrom);
+        return emitter;
+    }
+
+    /**
+     * journals the employee and acknowledges immediately, the upstream create happens in the background
+     *
+     * @param employeeInput
+     * @return 202 with the tracking status, Location points at the status endpoint
+     */
+    @Bulkhead(EndpointClass.SLOW_CALL)
+    @PostMapping(params = "async=true")
+    public ResponseEntity<WriteStatus> createEmployeeAsync(@RequestBody Map<String, Object> employeeInput) {
+        log.debug("Request to asynchronously create new employee with data: {}", employeeInput);
+        Employee employee = new Employee();
+        employee.setEmployeeName((String) employeeInput.get("name"));
+        employee.setEmployeeSalary((String) employeeInput.get("salary"));
+        employee.setEmployeeAge((String) employeeInput.get("age"));
+
+        WriteStatus status = writeBehindService.submitCreate(employee);
+        log.info("Accepted employee {} for asynchronous create: {}", employee.getEmployeeName(), status.getTrackingId());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/employees/writes/" + status.getTrackingId()))
+                .body(status);
+    }
+
+    /**
+     * status of an asynchronous create
+     *
+     * @param trackingId
+     * @return pending, flushed or failed status with attempts and last error
+     */
+    @Bulkhead(EndpointClass.CACHED_READ)
+    @GetMapping("/writes/{trackingId}")
+    public ResponseEntity<WriteStatus> getWriteStatus(@PathVariable String trackingId) {
+        log.debug("Request to fetch status of asynchronous create {}", trackingId);
+        return ResponseEntity.ok(writeBehindService.getStatus(trackingId));
+    }
+
     /**
      * deletes the employee with specified id given
      *
      * @param id
      * @return the name of the employee that was deleted
      */
+    @Bulkhead(EndpointClass.SLOW_CALL)
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteEmployeeById(@PathVariable String id) {
         log.debug("Request to delete employee with ID: {}", id);
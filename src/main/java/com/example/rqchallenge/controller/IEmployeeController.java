@@ -1,8 +1,14 @@
 package com.example.rqchallenge.controller;
 
 import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeePage;
+import com.example.rqchallenge.model.EmployeeSummary;
+import com.example.rqchallenge.model.SalaryStatistics;
+import com.example.rqchallenge.model.WriteStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
 import java.util.List;
@@ -17,18 +23,59 @@ public interface IEmployeeController {
     @GetMapping("/search/{searchString}")
     ResponseEntity<List<Employee>> getEmployeesByNameSearch(@PathVariable String searchString);
 
+    @GetMapping("/search/fuzzy/{searchString}")
+    ResponseEntity<List<Employee>> getEmployeesByFuzzyNameSearch(@PathVariable String searchString,
+                                                                 @RequestParam(required = false) Integer maxDistance,
+                                                                 @RequestParam(defaultValue = "20") int limit);
+
+    @GetMapping("/autocomplete/{prefix}")
+    ResponseEntity<List<Employee>> getEmployeeNameSuggestions(@PathVariable String prefix,
+                                                              @RequestParam(defaultValue = "salary") String sort,
+                                                              @RequestParam(defaultValue = "10") int limit);
+
+    @GetMapping("/range")
+    ResponseEntity<EmployeePage> getEmployeesByRange(@RequestParam(required = false) Integer minSalary,
+                                                     @RequestParam(required = false) Integer maxSalary,
+                                                     @RequestParam(required = false) Integer minAge,
+                                                     @RequestParam(required = false) Integer maxAge,
+                                                     @RequestParam(required = false) String name,
+                                                     @RequestParam(defaultValue = "salary") String sort,
+                                                     @RequestParam(defaultValue = "asc") String order,
+                                                     @RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "50") int size);
+
     @GetMapping("/{id}")
     ResponseEntity<Employee> getEmployeeById(@PathVariable String id);
 
     @GetMapping("/highestSalary")
     ResponseEntity<Integer> getHighestSalaryOfEmployees();
 
+    @GetMapping("/salaryStats")
+    ResponseEntity<SalaryStatistics> getSalaryStatistics(@RequestParam(defaultValue = "50,90,99") List<Double> percentiles,
+                                                         @RequestParam(defaultValue = "50000") int bucketSize,
+                                                         @RequestParam(defaultValue = "10") int ageBandWidth);
+
     @GetMapping("/topTenHighestEarningEmployeeNames")
     ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames();
 
+    @GetMapping("/summary")
+    ResponseEntity<EmployeeSummary> getEmployeeSummary(@RequestParam(defaultValue = "count,highestSalary,topEarnerNames") List<String> include,
+                                                       @RequestParam(defaultValue = "10") int topN,
+                                                       @RequestParam(required = false) String search);
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter streamEmployeeChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                                     @RequestParam(required = false) String lastEventId);
+
     @PostMapping()
     ResponseEntity<String> createEmployee(@RequestBody Map<String, Object> employeeInput);
 
+    @PostMapping(params = "async=true")
+    ResponseEntity<WriteStatus> createEmployeeAsync(@RequestBody Map<String, Object> employeeInput);
+
+    @GetMapping("/writes/{trackingId}")
+    ResponseEntity<WriteStatus> getWriteStatus(@PathVariable String trackingId);
+
     @DeleteMapping("/{id}")
     ResponseEntity<String> deleteEmployeeById(@PathVariable String id);
 
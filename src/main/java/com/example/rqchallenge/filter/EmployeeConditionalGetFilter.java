@@ -0,0 +1,233 @@
+package com.example.rqchallenge.filter;
+
+import com.example.rqchallenge.constants.AppConstants;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import com.example.rqchallenge.service.EmployeeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conditional GET support for the read endpoints that are served from the employee snapshot.
+ * The ETag is derived from a hash of the snapshot data, so a matching If-None-Match is answered with
+ * 304 before the controller runs and nothing is recomputed or serialized. Versions are local to an
+ * instance and restart from zero, the hash is the same wherever and whenever the same data is served.
+ * <p>
+ * Filters run before admission control, so they only look at a snapshot that is still within its TTL.
+ * Once it is stale the request goes to the controller untagged, which refreshes it behind the bulkhead.
+ * Only successful responses carry the ETag and Cache-Control headers.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class EmployeeConditionalGetFilter extends OncePerRequestFilter {
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private static final MediaType SMILE = MediaType.parseMediaType(AppConstants.APPLICATION_SMILE);
+
+    private static final MediaType CBOR = MediaType.parseMediaType(AppConstants.APPLICATION_CBOR);
+
+    // In the order Spring MVC registers their converters
+    private static final List<MediaType> REPRESENTATIONS = List.of(MediaType.APPLICATION_JSON, SMILE, CBOR);
+
+    private final EmployeeService employeeService;
+
+    private final long maxAgeSeconds;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) || !isSnapshotBacked(pathWithinApplication(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Optional<EmployeeSnapshot> snapshot = employeeService.getFreshSnapshot();
+        if (!snapshot.isPresent()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        MediaType representation = negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        String etag = representation == null ? null : etagFor(snapshot.get(), representation);
+        if (etag != null && matchesIfNoneMatch(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            log.debug("Employee data unchanged for {} ({}), returning 304", request.getRequestURI(), etag);
+            addValidators(response, etag);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        ValidatorResponseWrapper wrapper = new ValidatorResponseWrapper(response, snapshot.get());
+        filterChain.doFilter(request, wrapper);
+        // Responses without a body never asked for a stream
+        wrapper.addValidatorsIfSuccessful();
+    }
+
+    private void addValidators(HttpServletResponse response, String etag) {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).mustRevalidate().getHeaderValue());
+    }
+
+    /**
+     * The representation the message converters will pick for this Accept header: the most specific,
+     * highest quality accepted type that one of them produces, JSON on a tie as it is registered first.
+     *
+     * @return null when the header is malformed or accepts none of them, the request is then not tagged
+     */
+    static MediaType negotiate(String accept) {
+        List<MediaType> accepted;
+        try {
+            accepted = accept == null || accept.isEmpty()
+                    ? new ArrayList<>(List.of(MediaType.ALL))
+                    : new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType representation : REPRESENTATIONS) {
+                if (type.includes(representation)) {
+                    return representation;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Each negotiated encoding is a distinct representation and needs its own strong ETag
+    static String etagFor(EmployeeSnapshot snapshot, MediaType contentType) {
+        String tag = Long.toHexString(snapshot.getContentHash());
+        if (contentType != null && SMILE.includes(contentType)) {
+            return "\"" + tag + "-smile\"";
+        }
+        if (contentType != null && CBOR.includes(contentType)) {
+            return "\"" + tag + "-cbor\"";
+        }
+        return "\"" + tag + "\"";
+    }
+
+    static boolean matchesIfNoneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // If-None-Match uses the weak comparison, so a W/ prefix still matches
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if ("*".equals(tag) || etag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Holds the validators back until the status is final, which is when the body is first written or the
+     * response flushed. Errors must not be tagged or made cacheable, a client would revalidate them with 304s.
+     */
+    private final class ValidatorResponseWrapper extends HttpServletResponseWrapper {
+
+        private final EmployeeSnapshot snapshot;
+
+        private boolean decided;
+
+        ValidatorResponseWrapper(HttpServletResponse response, EmployeeSnapshot snapshot) {
+            super(response);
+            this.snapshot = snapshot;
+        }
+
+        void addValidatorsIfSuccessful() {
+            if (decided) {
+                return;
+            }
+            decided = true;
+            if (HttpStatus.Series.resolve(getStatus()) == HttpStatus.Series.SUCCESSFUL && !isCommitted()) {
+                // Tagged after the converter was chosen, the Content-Type is what was actually negotiated
+                addValidators((HttpServletResponse) getResponse(), etagFor(snapshot, contentType()));
+            }
+        }
+
+        private MediaType contentType() {
+            try {
+                return getContentType() == null ? null : MediaType.parseMediaType(getContentType());
+            } catch (InvalidMediaTypeException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addValidatorsIfSuccessful();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addValidatorsIfSuccessful();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addValidatorsIfSuccessful();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            decided = true;
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            decided = true;
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            decided = true;
+            super.sendRedirect(location);
+        }
+    }
+
+    static boolean isSnapshotBacked(String path) {
+        for (String pattern : AppConstants.SNAPSHOT_BACKED_PATHS) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String pathWithinApplication(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
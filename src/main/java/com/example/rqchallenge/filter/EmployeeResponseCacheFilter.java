@@ -0,0 +1,97 @@
+package com.example.rqchallenge.filter;
+
+import com.example.rqchallenge.cache.EmployeeResponseCache;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import com.example.rqchallenge.service.EmployeeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Serves snapshot-backed read endpoints from pre-serialized bytes. On a miss the controller response
+ * is captured once and stored for the current snapshot version; on a hit the cached bytes (or their
+ * gzip variant) are copied straight to the response without touching Jackson.
+ * <p>
+ * Like the conditional GET filter it only uses a snapshot within its TTL; a stale one is neither served
+ * nor cached here, the controller refreshes it behind admission control.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class EmployeeResponseCacheFilter extends OncePerRequestFilter {
+
+    private final EmployeeService employeeService;
+
+    private final EmployeeResponseCache responseCache;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || !EmployeeConditionalGetFilter.isSnapshotBacked(EmployeeConditionalGetFilter.pathWithinApplication(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Optional<EmployeeSnapshot> snapshot = employeeService.getFreshSnapshot();
+        if (!snapshot.isPresent()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long version = snapshot.get().getVersion();
+        String key = cacheKey(request);
+
+        EmployeeResponseCache.Entry cached = responseCache.get(key, version);
+        if (cached != null) {
+            log.debug("Serving {} from response cache (version {})", key, version);
+            writeEntry(request, response, cached);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || wrapper.getContentType() == null) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        EmployeeResponseCache.Entry entry = responseCache.put(key, version, wrapper.getContentType(), wrapper.getContentAsByteArray());
+        writeEntry(request, response, entry);
+    }
+
+    // The Accept header decides which message converter renders the body, so it is part of the key
+    protected String cacheKey(HttpServletRequest request) {
+        String path = EmployeeConditionalGetFilter.pathWithinApplication(request);
+        String key = request.getQueryString() == null ? path : path + "?" + request.getQueryString();
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept == null ? key : key + "|" + accept;
+    }
+
+    private static void writeEntry(HttpServletRequest request, HttpServletResponse response, EmployeeResponseCache.Entry entry)
+            throws IOException {
+        byte[] body = entry.getBody();
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (entry.getGzipBody() != null && acceptsGzip(request)) {
+            body = entry.getGzipBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(entry.getContentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+}
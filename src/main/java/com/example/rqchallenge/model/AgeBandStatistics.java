@@ -0,0 +1,30 @@
+package com.example.rqchallenge.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AgeBandStatistics {
+
+    @JsonProperty("from_age")
+    private int fromAge;  // inclusive
+
+    @JsonProperty("to_age")
+    private int toAge;  // exclusive
+
+    @JsonProperty("count")
+    private long count;
+
+    @JsonProperty("min_salary")
+    private int minSalary;
+
+    @JsonProperty("max_salary")
+    private int maxSalary;
+
+    @JsonProperty("mean_salary")
+    private double meanSalary;
+}
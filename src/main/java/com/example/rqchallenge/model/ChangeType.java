@@ -0,0 +1,8 @@
+package com.example.rqchallenge.model;
+
+public enum ChangeType {
+    ADDED,
+    UPDATED,
+    REMOVED,
+    RESYNC  // the requested events are no longer buffered, the client has to reload the full list
+}
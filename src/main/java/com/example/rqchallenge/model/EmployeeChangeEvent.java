@@ -0,0 +1,29 @@
+package com.example.rqchallenge.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeChangeEvent {
+
+    @JsonProperty("event_id")
+    private long eventId;  // monotonically increasing within the feed's epoch, the SSE id is "<epoch>-<eventId>"
+
+    @JsonProperty("type")
+    private ChangeType type;
+
+    @JsonProperty("employee_id")
+    private String employeeId;
+
+    @JsonProperty("employee")
+    private Employee employee;  // null for REMOVED and RESYNC
+
+    @JsonProperty("source")
+    private String source;  // "upstream" for sync diffs, "local" for writes made through this service
+}
@@ -0,0 +1,32 @@
+package com.example.rqchallenge.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a query result together with the total number of matches.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeePage {
+
+    @JsonProperty("version")
+    private long version;  // snapshot version the page was computed from
+
+    @JsonProperty("total")
+    private int total;
+
+    @JsonProperty("page")
+    private int page;
+
+    @JsonProperty("size")
+    private int size;
+
+    @JsonProperty("employees")
+    private List<Employee> employees;
+}
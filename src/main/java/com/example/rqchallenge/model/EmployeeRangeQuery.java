@@ -0,0 +1,40 @@
+package com.example.rqchallenge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Salary and age bounds (inclusive, null for open), optional name filter, sort order and page of a range query.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeRangeQuery {
+
+    private Integer minSalary;
+
+    private Integer maxSalary;
+
+    private Integer minAge;
+
+    private Integer maxAge;
+
+    private String name;  // case-insensitive substring, same matching as the name search
+
+    private EmployeeSortField sort;
+
+    private boolean descending;
+
+    private int page;
+
+    private int size;
+
+    public boolean hasSalaryRange() {
+        return minSalary != null || maxSalary != null;
+    }
+
+    public boolean hasAgeRange() {
+        return minAge != null || maxAge != null;
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.rqchallenge.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Immutable, versioned view of the employee list: the last upstream fetch (or a peer's copy of it)
+ * plus any local creates and deletes applied since. The version changes whenever the data changes,
+ * either because a fetch returned different data or because a local write was applied.
+ */
+@Getter
+public final class EmployeeSnapshot {
+
+    public static final EmployeeSnapshot EMPTY = new EmployeeSnapshot(0L, Collections.emptyList(), 0L);
+
+    private final long version;
+
+    private final List<Employee> employees;
+
+    private final long fetchedAt;  // epoch millis of the last upstream fetch, 0 when never fetched or invalidated
+
+    // Primitive columns parallel to employees, -1 where the value is missing or not a number.
+    // Shared between all readers of this snapshot, callers must not modify them.
+    private final int[] salaries;
+
+    private final int[] ages;
+
+    // Search indexes derived from this data, built on first use and shared with copies that only differ in fetchedAt
+    @Getter(AccessLevel.NONE)
+    private final ConcurrentMap<Class<?>, Object> indexes;
+
+    public EmployeeSnapshot(long version, List<Employee> employees, long fetchedAt) {
+        this(version, employees, fetchedAt,
+                column(employees, Employee::getEmployeeSalary), column(employees, Employee::getEmployeeAge),
+                new ConcurrentHashMap<>());
+    }
+
+    private EmployeeSnapshot(long version, List<Employee> employees, long fetchedAt, int[] salaries, int[] ages,
+                             ConcurrentMap<Class<?>, Object> indexes) {
+        this.version = version;
+        this.employees = employees;
+        this.fetchedAt = fetchedAt;
+        this.salaries = salaries;
+        this.ages = ages;
+        this.indexes = indexes;
+    }
+
+    public boolean isFresh(long now, long ttlMillis) {
+        return fetchedAt > 0 && now - fetchedAt < ttlMillis;
+    }
+
+    public EmployeeSnapshot withFetchedAt(long fetchedAt) {
+        return new EmployeeSnapshot(version, employees, fetchedAt, salaries, ages, indexes);
+    }
+
+    /**
+     * Returns the index of the given type for this data, building it once on first use.
+     * Builders must not request other indexes.
+     */
+    public <T> T getIndex(Class<T> type, Function<EmployeeSnapshot, T> builder) {
+        return type.cast(indexes.computeIfAbsent(type, key -> builder.apply(this)));
+    }
+
+    /**
+     * 64-bit hash of the employee data in list order, computed once per data version. Unlike the version it
+     * means the same thing on every instance and across restarts, so it is what validators are built from.
+     */
+    public long getContentHash() {
+        return getIndex(ContentHash.class, ContentHash::of).value;
+    }
+
+    /**
+     * Next version with every employee whose id is in removedIds dropped and the added employees appended,
+     * built in one pass however many changes there are. Returns this snapshot when nothing changes.
+     * Incremental indexes already built are carried over, all others are rebuilt on first use.
+     */
+    public EmployeeSnapshot withChanges(Set<String> removedIds, List<Employee> added) {
+        int[] removedPositions = new int[removedIds.isEmpty() ? 0 : employees.size()];
+        int removed = 0;
+        for (int position = 0; position < employees.size() && !removedIds.isEmpty(); position++) {
+            if (removedIds.contains(employees.get(position).getId())) {
+                removedPositions[removed++] = position;
+            }
+        }
+        if (removed == 0 && added.isEmpty()) {
+            return this;
+        }
+        return withChanges(Arrays.copyOf(removedPositions, removed), added);
+    }
+
+    // removedPositions must be ascending
+    private EmployeeSnapshot withChanges(int[] removedPositions, List<Employee> added) {
+        int kept = employees.size() - removedPositions.length;
+        List<Employee> next = new ArrayList<>(kept + added.size());
+        int[] nextSalaries = new int[kept + added.size()];
+        int[] nextAges = new int[kept + added.size()];
+        int size = 0;
+        for (int position = 0, removed = 0; position < employees.size(); position++) {
+            if (removed < removedPositions.length && removedPositions[removed] == position) {
+                removed++;
+                continue;
+            }
+            next.add(employees.get(position));
+            nextSalaries[size] = salaries[position];
+            nextAges[size++] = ages[position];
+        }
+        for (Employee employee : added) {
+            next.add(employee);
+            nextSalaries[size] = parseOrMissing(employee.getEmployeeSalary());
+            nextAges[size++] = parseOrMissing(employee.getEmployeeAge());
+        }
+
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(version + 1, Collections.unmodifiableList(next), fetchedAt,
+                nextSalaries, nextAges, new ConcurrentHashMap<>());
+        for (Map.Entry<Class<?>, Object> entry : indexes.entrySet()) {
+            if (entry.getValue() instanceof IncrementalIndex) {
+                snapshot.indexes.put(entry.getKey(),
+                        ((IncrementalIndex) entry.getValue()).afterChanges(snapshot, removedPositions, kept));
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * An index that can follow a batch of changes cheaper than being rebuilt from scratch.
+     * Implementations return a new index and leave themselves untouched, older snapshots still use them.
+     */
+    public interface IncrementalIndex {
+
+        /**
+         * @param next             snapshot after the changes
+         * @param removedPositions ascending positions in the previous snapshot that were removed
+         * @param firstAdded       position in next of the first added employee, added ones run to the end
+         */
+        IncrementalIndex afterChanges(EmployeeSnapshot next, int[] removedPositions, int firstAdded);
+    }
+
+    private static final class ContentHash {
+
+        private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+        private static final long FNV_PRIME = 0x100000001b3L;
+
+        private final long value;
+
+        private ContentHash(long value) {
+            this.value = value;
+        }
+
+        // FNV-1a over every field, each one terminated so that shifting characters between fields changes the hash
+        static ContentHash of(EmployeeSnapshot snapshot) {
+            long hash = FNV_OFFSET;
+            for (Employee employee : snapshot.employees) {
+                hash = mix(hash, employee.getId());
+                hash = mix(hash, employee.getEmployeeName());
+                hash = mix(hash, employee.getEmployeeSalary());
+                hash = mix(hash, employee.getEmployeeAge());
+                hash = mix(hash, employee.getProfileImage());
+            }
+            return new ContentHash(hash);
+        }
+
+        private static long mix(long hash, String field) {
+            if (field != null) {
+                for (int i = 0; i < field.length(); i++) {
+                    hash = (hash ^ field.charAt(i)) * FNV_PRIME;
+                }
+            }
+            // Distinct terminators for null and present values, so null and "" differ
+            return (hash ^ (field == null ? 0x10000 : 0x10001)) * FNV_PRIME;
+        }
+    }
+
+    private static int[] column(List<Employee> employees, Function<Employee, String> field) {
+        int[] values = new int[employees.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = parseOrMissing(field.apply(employees.get(i)));
+        }
+        return values;
+    }
+
+    private static int parseOrMissing(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.rqchallenge.model;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Fields range query results can be sorted by through the sort parameter.
+ */
+public enum EmployeeSortField {
+
+    SALARY("salary"),
+    AGE("age"),
+    NAME("name");
+
+    private final String parameterName;
+
+    EmployeeSortField(String parameterName) {
+        this.parameterName = parameterName;
+    }
+
+    public String getParameterName() {
+        return parameterName;
+    }
+
+    public static Optional<EmployeeSortField> fromParameterName(String parameterName) {
+        return Arrays.stream(values())
+                .filter(field -> field.parameterName.equalsIgnoreCase(parameterName.trim()))
+                .findFirst();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.rqchallenge.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Composite view computed from a single snapshot, components that were not requested are left null and omitted.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeSummary {
+
+    @JsonProperty("version")
+    private long version;  // snapshot version all components were computed from
+
+    @JsonProperty("count")
+    private Integer count;
+
+    @JsonProperty("highest_salary")
+    private Integer highestSalary;
+
+    @JsonProperty("top_earner_names")
+    private List<String> topEarnerNames;
+
+    @JsonProperty("search_hits")
+    private List<Employee> searchHits;
+}
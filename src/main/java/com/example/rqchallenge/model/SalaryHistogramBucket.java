@@ -0,0 +1,21 @@
+package com.example.rqchallenge.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalaryHistogramBucket {
+
+    @JsonProperty("from_salary")
+    private long fromSalary;  // inclusive
+
+    @JsonProperty("to_salary")
+    private long toSalary;  // exclusive
+
+    @JsonProperty("count")
+    private long count;
+}
@@ -0,0 +1,42 @@
+package com.example.rqchallenge.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalaryStatistics {
+
+    @JsonProperty("count")
+    private long count;
+
+    @JsonProperty("min_salary")
+    private int minSalary;
+
+    @JsonProperty("max_salary")
+    private int maxSalary;
+
+    @JsonProperty("mean_salary")
+    private double meanSalary;
+
+    @JsonProperty("median_salary")
+    private int medianSalary;
+
+    @JsonProperty("exact_percentiles")
+    private boolean exactPercentiles;  // false when percentiles were estimated from the quantile sketch
+
+    @JsonProperty("percentiles")
+    private Map<String, Integer> percentiles;  // keyed as "p50", "p99.9", ...
+
+    @JsonProperty("histogram")
+    private List<SalaryHistogramBucket> histogram;
+
+    @JsonProperty("age_bands")
+    private List<AgeBandStatistics> ageBands;
+}
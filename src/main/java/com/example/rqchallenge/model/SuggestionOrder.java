@@ -0,0 +1,29 @@
+package com.example.rqchallenge.model;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Orders autocomplete suggestions can be ranked by through the sort parameter.
+ */
+public enum SuggestionOrder {
+
+    SALARY("salary"),
+    NAME("name");
+
+    private final String parameterName;
+
+    SuggestionOrder(String parameterName) {
+        this.parameterName = parameterName;
+    }
+
+    public String getParameterName() {
+        return parameterName;
+    }
+
+    public static Optional<SuggestionOrder> fromParameterName(String parameterName) {
+        return Arrays.stream(values())
+                .filter(order -> order.parameterName.equalsIgnoreCase(parameterName.trim()))
+                .findFirst();
+    }
+}
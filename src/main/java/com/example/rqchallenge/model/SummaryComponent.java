@@ -0,0 +1,31 @@
+package com.example.rqchallenge.model;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Parts of the employee summary a client can ask for through the include parameter.
+ */
+public enum SummaryComponent {
+
+    COUNT("count"),
+    HIGHEST_SALARY("highestSalary"),
+    TOP_EARNER_NAMES("topEarnerNames"),
+    SEARCH_HITS("searchHits");
+
+    private final String parameterName;
+
+    SummaryComponent(String parameterName) {
+        this.parameterName = parameterName;
+    }
+
+    public String getParameterName() {
+        return parameterName;
+    }
+
+    public static Optional<SummaryComponent> fromParameterName(String parameterName) {
+        return Arrays.stream(values())
+                .filter(component -> component.parameterName.equalsIgnoreCase(parameterName.trim()))
+                .findFirst();
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.rqchallenge.model;
+
+public enum WriteState {
+    PENDING,  // durably journaled, not yet accepted by upstream
+    FLUSHED,
+    FAILED    // rejected by upstream or out of retries
+}
@@ -0,0 +1,35 @@
+package com.example.rqchallenge.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WriteStatus {
+
+    @JsonProperty("tracking_id")
+    private String trackingId;
+
+    @JsonProperty("state")
+    private WriteState state;
+
+    @JsonProperty("employee")
+    private Employee employee;
+
+    @JsonProperty("attempts")
+    private int attempts;
+
+    @JsonProperty("accepted_at")
+    private long acceptedAt;  // epoch millis
+
+    @JsonProperty("completed_at")
+    private Long completedAt;
+
+    @JsonProperty("last_error")
+    private String lastError;
+}
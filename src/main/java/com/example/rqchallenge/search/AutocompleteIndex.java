@@ -0,0 +1,521 @@
+package com.example.rqchallenge.search;
+
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import com.example.rqchallenge.model.SuggestionOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Prefix trie over normalized name tokens and full names with the best suggestions precomputed per node,
+ * so a keystroke is a walk down the trie plus a copy of at most N employees.
+ * <p>
+ * The trie lives in primitive arrays with children as sibling lists in character order. Each node keeps
+ * the top N employee slots under it, once by salary (highest first) and once by name. A node on a
+ * single-child chain without entries of its own shares its child's arrays, which keeps memory close to
+ * one list per branching node rather than one per character.
+ * <p>
+ * Local creates and deletes only touch the nodes on the paths of the changed names: their top lists are
+ * merged with an added employee, or recomputed from the node's own entries and its children's lists when
+ * they held a removed one. Nodes left without entries stay in the trie with empty lists.
+ */
+public final class AutocompleteIndex implements EmployeeSnapshot.IncrementalIndex {
+
+    private static final int ROOT = 0;
+
+    private final EmployeeSlots slots;
+
+    private final int suggestions;
+
+    private final int[] salaries;           // by slot, -1 when missing
+    private final String[] names;           // normalized full name by slot
+
+    private final char[] label;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+
+    private final int[][] postings;         // slots with an entry ending at the node, ascending, null when none
+
+    private final int[][] topBySalary;
+    private final int[][] topByName;
+
+    private AutocompleteIndex(EmployeeSlots slots, int suggestions, int[] salaries, String[] names, char[] label,
+                              int[] firstChild, int[] nextSibling, int[][] postings, int[][] topBySalary,
+                              int[][] topByName) {
+        this.slots = slots;
+        this.suggestions = suggestions;
+        this.salaries = salaries;
+        this.names = names;
+        this.label = label;
+        this.firstChild = firstChild;
+        this.nextSibling = nextSibling;
+        this.postings = postings;
+        this.topBySalary = topBySalary;
+        this.topByName = topByName;
+    }
+
+    public static AutocompleteIndex build(EmployeeSnapshot snapshot, int suggestions) {
+        List<Employee> employees = snapshot.getEmployees();
+        int[] salaries = snapshot.getSalaries();
+
+        // Every token and the full name are entries, so both "smi" and "john sm" complete to John Smith
+        Entry[] names = new Entry[employees.size()];
+        String[] nameBySlot = new String[employees.size()];
+        List<Entry> entries = new ArrayList<>(employees.size() * 3);
+        for (int i = 0; i < employees.size(); i++) {
+            List<String> keys = keys(employees.get(i));
+            nameBySlot[i] = fullName(keys);
+            names[i] = new Entry(nameBySlot[i], i);
+            for (String key : keys) {
+                entries.add(new Entry(key, i));
+            }
+        }
+        Entry[] sortedEntries = entries.toArray(new Entry[0]);
+        Arrays.sort(sortedEntries);
+
+        // Name rank is the position in name order and the tie-breaker of the salary order
+        Arrays.sort(names);
+        int[] nameRank = new int[employees.size()];
+        int[] employeeAtRank = new int[employees.size()];
+        for (int rank = 0; rank < names.length; rank++) {
+            nameRank[names[rank].employee] = rank;
+            employeeAtRank[rank] = names[rank].employee;
+        }
+
+        Builder builder = new Builder();
+        String previous = "";
+        int[] path = new int[16];
+        path[0] = ROOT;
+        for (int start = 0, end; start < sortedEntries.length; start = end) {
+            String key = sortedEntries[start].key;
+            end = start + 1;
+            while (end < sortedEntries.length && sortedEntries[end].key.equals(key)) {
+                end++;
+            }
+            int common = commonPrefix(previous, key);
+            if (path.length <= key.length()) {
+                path = Arrays.copyOf(path, Math.max(path.length * 2, key.length() + 1));
+            }
+            for (int depth = common; depth < key.length(); depth++) {
+                path[depth + 1] = builder.addChild(path[depth], key.charAt(depth));
+            }
+            // A name can repeat a token, each employee is kept once per key
+            int[] posting = new int[end - start];
+            int size = 0;
+            for (int k = start; k < end; k++) {
+                if (size == 0 || posting[size - 1] != sortedEntries[k].employee) {
+                    posting[size++] = sortedEntries[k].employee;
+                }
+            }
+            builder.setPostings(path[key.length()], size == posting.length ? posting : Arrays.copyOf(posting, size));
+            previous = key;
+        }
+
+        int nodes = builder.size;
+        int[][] topBySalary = new int[nodes][];
+        int[][] topByName = new int[nodes][];
+        // Children are created after their parent, so walking ids backwards sees every child first
+        for (int node = nodes - 1; node >= 0; node--) {
+            int child = builder.firstChild[node];
+            int[] own = builder.postings[node];
+            if (own == null && child != -1 && builder.nextSibling[child] == -1) {
+                topBySalary[node] = topBySalary[child];
+                topByName[node] = topByName[child];
+            } else {
+                // The top N of a node is within its own entries plus the top N of each child
+                topBySalary[node] = top(candidates(own, builder, topBySalary, node), salaries, nameRank,
+                        employeeAtRank, suggestions);
+                topByName[node] = top(candidates(own, builder, topByName, node), null, nameRank,
+                        employeeAtRank, suggestions);
+            }
+        }
+
+        return new AutocompleteIndex(EmployeeSlots.of(employees), suggestions, salaries, nameBySlot,
+                Arrays.copyOf(builder.label, nodes), Arrays.copyOf(builder.firstChild, nodes),
+                Arrays.copyOf(builder.nextSibling, nodes), Arrays.copyOf(builder.postings, nodes),
+                topBySalary, topByName);
+    }
+
+    @Override
+    public AutocompleteIndex afterChanges(EmployeeSnapshot next, int[] removedPositions, int firstAdded) {
+        EmployeeSlots nextSlots = slots.afterChanges(next, removedPositions, firstAdded);
+        List<Employee> employees = next.getEmployees();
+        int[] nextSalaries = Arrays.copyOf(salaries, nextSlots.capacity());
+        String[] nextNames = Arrays.copyOf(names, nextSlots.capacity());
+        List<List<String>> addedKeys = new ArrayList<>(employees.size() - firstAdded);
+        for (int position = firstAdded; position < employees.size(); position++) {
+            List<String> keys = keys(employees.get(position));
+            int slot = nextSlots.slotAt(position);
+            nextSalaries[slot] = next.getSalaries()[position];
+            nextNames[slot] = fullName(keys);
+            addedKeys.add(keys);
+        }
+
+        Editor editor = new Editor(this, nextSalaries, nextNames);
+        for (int position : removedPositions) {
+            int slot = slots.slotAt(position);
+            editor.remove(slot, keys(slots.employee(slot)));
+        }
+        for (int i = 0; i < addedKeys.size(); i++) {
+            editor.add(nextSlots.slotAt(firstAdded + i), addedKeys.get(i));
+        }
+        return editor.toIndex(nextSlots);
+    }
+
+    /**
+     * @return up to limit employees whose name or one of its tokens starts with the prefix
+     */
+    public List<Employee> suggest(String prefix, SuggestionOrder order, int limit) {
+        String key = String.join(" ", NameTokenizer.tokenize(prefix));
+        int node = ROOT;
+        for (int i = 0; i < key.length() && node != -1; i++) {
+            node = child(node, key.charAt(i));
+        }
+        if (node == -1 || key.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int[] top = order == SuggestionOrder.NAME ? topByName[node] : topBySalary[node];
+        int count = Math.min(limit, top.length);
+        List<Employee> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(slots.employee(top[i]));
+        }
+        return results;
+    }
+
+    private int child(int node, char c) {
+        for (int child = firstChild[node]; child != -1 && label[child] <= c; child = nextSibling[child]) {
+            if (label[child] == c) {
+                return child;
+            }
+        }
+        return -1;
+    }
+
+    // Tokens, then the full name when it differs from the only token; the full name is always last
+    private static List<String> keys(Employee employee) {
+        List<String> keys = NameTokenizer.tokenize(employee.getEmployeeName());
+        if (keys.size() > 1) {
+            keys.add(String.join(" ", keys));
+        }
+        return keys;
+    }
+
+    private static String fullName(List<String> keys) {
+        return keys.isEmpty() ? "" : keys.get(keys.size() - 1);
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    // Own entries plus the already computed lists of the children, possibly with duplicates
+    private static int[] candidates(int[] own, Builder builder, int[][] childLists, int node) {
+        int size = own == null ? 0 : own.length;
+        for (int child = builder.firstChild[node]; child != -1; child = builder.nextSibling[child]) {
+            size += childLists[child].length;
+        }
+        int[] candidates = new int[size];
+        int next = 0;
+        if (own != null) {
+            System.arraycopy(own, 0, candidates, 0, own.length);
+            next = own.length;
+        }
+        for (int child = builder.firstChild[node]; child != -1; child = builder.nextSibling[child]) {
+            System.arraycopy(childLists[child], 0, candidates, next, childLists[child].length);
+            next += childLists[child].length;
+        }
+        return candidates;
+    }
+
+    // Highest salary first when salaries are given, name order otherwise; duplicates are dropped
+    private static int[] top(int[] candidates, int[] salaries, int[] nameRank, int[] employeeAtRank, int n) {
+        long[] keys = new long[candidates.length];
+        for (int i = 0; i < candidates.length; i++) {
+            int employee = candidates[i];
+            long key = nameRank[employee];
+            if (salaries != null) {
+                // Missing salaries are -1 and sort after every real one, the high half stays below 2^31
+                key |= ((long) Integer.MAX_VALUE - 1 - Math.max(-1, salaries[employee])) << 32;
+            }
+            keys[i] = key;
+        }
+        Arrays.sort(keys);
+        int[] top = new int[Math.min(n, keys.length)];
+        int size = 0;
+        for (int i = 0; i < keys.length && size < top.length; i++) {
+            if (i == 0 || keys[i] != keys[i - 1]) {
+                top[size++] = employeeAtRank[(int) keys[i]];
+            }
+        }
+        return size == top.length ? top : Arrays.copyOf(top, size);
+    }
+
+    // Copy-on-write view of an index, the arrays of the original are never written to
+    private static final class Editor {
+
+        private final int suggestions;
+        private final int[] salaries;
+        private final String[] names;
+
+        private char[] label;
+        private int[] firstChild;
+        private int[] nextSibling;
+        private int[][] postings;
+        private int[][] topBySalary;
+        private int[][] topByName;
+        private int size;
+
+        private Editor(AutocompleteIndex index, int[] salaries, String[] names) {
+            this.suggestions = index.suggestions;
+            this.salaries = salaries;
+            this.names = names;
+            this.label = index.label.clone();
+            this.firstChild = index.firstChild.clone();
+            this.nextSibling = index.nextSibling.clone();
+            this.postings = index.postings.clone();
+            this.topBySalary = index.topBySalary.clone();
+            this.topByName = index.topByName.clone();
+            this.size = label.length;
+        }
+
+        private void remove(int slot, List<String> keys) {
+            List<Integer> path = new ArrayList<>();
+            for (String key : keys) {
+                int node = ROOT;
+                path.add(node);
+                for (int i = 0; i < key.length(); i++) {
+                    node = child(node, key.charAt(i));
+                    path.add(node);
+                }
+                postings[node] = without(postings[node], slot);
+            }
+            // Children have higher ids than their parents, so every child is recomputed before its parent
+            path.sort(Comparator.reverseOrder());
+            for (int i = 0; i < path.size(); i++) {
+                int node = path.get(i);
+                if (i > 0 && path.get(i - 1) == node) {
+                    continue;
+                }
+                if (contains(topBySalary[node], slot)) {
+                    topBySalary[node] = recompute(node, topBySalary, true);
+                }
+                if (contains(topByName[node], slot)) {
+                    topByName[node] = recompute(node, topByName, false);
+                }
+            }
+        }
+
+        private void add(int slot, List<String> keys) {
+            Set<Integer> path = new HashSet<>();
+            for (String key : keys) {
+                int node = ROOT;
+                path.add(node);
+                for (int i = 0; i < key.length(); i++) {
+                    node = childOrNew(node, key.charAt(i));
+                    path.add(node);
+                }
+                // Added slots are above every existing one, appending keeps the postings ascending
+                int[] own = postings[node];
+                if (own == null) {
+                    postings[node] = new int[]{slot};
+                } else if (own[own.length - 1] != slot) {
+                    int[] appended = Arrays.copyOf(own, own.length + 1);
+                    appended[own.length] = slot;
+                    postings[node] = appended;
+                }
+            }
+            // Adding one employee below a node can only put that employee into the node's lists
+            for (int node : path) {
+                topBySalary[node] = offer(topBySalary[node], slot, true);
+                topByName[node] = offer(topByName[node], slot, false);
+            }
+        }
+
+        private AutocompleteIndex toIndex(EmployeeSlots slots) {
+            return new AutocompleteIndex(slots, suggestions, salaries, names, Arrays.copyOf(label, size),
+                    Arrays.copyOf(firstChild, size), Arrays.copyOf(nextSibling, size), Arrays.copyOf(postings, size),
+                    Arrays.copyOf(topBySalary, size), Arrays.copyOf(topByName, size));
+        }
+
+        private int child(int node, char c) {
+            for (int child = firstChild[node]; child != -1; child = nextSibling[child]) {
+                if (label[child] == c) {
+                    return child;
+                }
+            }
+            throw new IllegalStateException("Entry missing from the autocomplete trie");
+        }
+
+        // Existing child, or a new one linked in character order
+        private int childOrNew(int node, char c) {
+            int previous = -1;
+            int child = firstChild[node];
+            while (child != -1 && label[child] < c) {
+                previous = child;
+                child = nextSibling[child];
+            }
+            if (child != -1 && label[child] == c) {
+                return child;
+            }
+            if (size == label.length) {
+                int capacity = Math.max(16, size * 2);
+                label = Arrays.copyOf(label, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                nextSibling = Arrays.copyOf(nextSibling, capacity);
+                postings = Arrays.copyOf(postings, capacity);
+                topBySalary = Arrays.copyOf(topBySalary, capacity);
+                topByName = Arrays.copyOf(topByName, capacity);
+            }
+            int created = size++;
+            label[created] = c;
+            firstChild[created] = -1;
+            nextSibling[created] = child;
+            topBySalary[created] = new int[0];
+            topByName[created] = new int[0];
+            if (previous == -1) {
+                firstChild[node] = created;
+            } else {
+                nextSibling[previous] = created;
+            }
+            return created;
+        }
+
+        // The top N of a node is within its own entries plus the top N of each child
+        private int[] recompute(int node, int[][] lists, boolean bySalary) {
+            int[] top = new int[0];
+            if (postings[node] != null) {
+                for (int slot : postings[node]) {
+                    top = offer(top, slot, bySalary);
+                }
+            }
+            for (int child = firstChild[node]; child != -1; child = nextSibling[child]) {
+                for (int slot : lists[child]) {
+                    top = offer(top, slot, bySalary);
+                }
+            }
+            return top;
+        }
+
+        // The list with the slot in its place, or the same list when it's already there or doesn't make the cut
+        private int[] offer(int[] top, int slot, boolean bySalary) {
+            int at = 0;
+            while (at < top.length && compare(top[at], slot, bySalary) < 0) {
+                at++;
+            }
+            if (at == suggestions || (at < top.length && top[at] == slot)) {
+                return top;
+            }
+            int[] next = new int[Math.min(suggestions, top.length + 1)];
+            System.arraycopy(top, 0, next, 0, at);
+            next[at] = slot;
+            System.arraycopy(top, at, next, at + 1, next.length - at - 1);
+            return next;
+        }
+
+        // Same order as the full build: salary descending with missing last, then name, then slot
+        private int compare(int a, int b, boolean bySalary) {
+            if (bySalary && salaries[a] != salaries[b]) {
+                return Integer.compare(salaries[b], salaries[a]);
+            }
+            int compare = names[a].compareTo(names[b]);
+            return compare != 0 ? compare : Integer.compare(a, b);
+        }
+
+        private static boolean contains(int[] values, int value) {
+            for (int v : values) {
+                if (v == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static int[] without(int[] sorted, int value) {
+            int i = sorted == null ? -1 : Arrays.binarySearch(sorted, value);
+            if (i < 0) {
+                return sorted;
+            }
+            if (sorted.length == 1) {
+                return null;
+            }
+            int[] result = new int[sorted.length - 1];
+            System.arraycopy(sorted, 0, result, 0, i);
+            System.arraycopy(sorted, i + 1, result, i, result.length - i);
+            return result;
+        }
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+
+        private final String key;
+        private final int employee;
+
+        private Entry(String key, int employee) {
+            this.key = key;
+            this.employee = employee;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int compare = key.compareTo(other.key);
+            return compare != 0 ? compare : Integer.compare(employee, other.employee);
+        }
+    }
+
+    private static final class Builder {
+
+        private char[] label = new char[64];
+        private int[] firstChild = new int[64];
+        private int[] lastChild = new int[64];
+        private int[] nextSibling = new int[64];
+        private int[][] postings = new int[64][];
+        private int size;
+
+        private Builder() {
+            newNode('\0');
+        }
+
+        // Keys arrive sorted, so appending keeps every sibling list in character order
+        private int addChild(int parent, char c) {
+            int node = newNode(c);
+            if (firstChild[parent] == -1) {
+                firstChild[parent] = node;
+            } else {
+                nextSibling[lastChild[parent]] = node;
+            }
+            lastChild[parent] = node;
+            return node;
+        }
+
+        private void setPostings(int node, int[] employees) {
+            postings[node] = employees;
+        }
+
+        private int newNode(char c) {
+            if (size == label.length) {
+                int capacity = size * 2;
+                label = Arrays.copyOf(label, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                lastChild = Arrays.copyOf(lastChild, capacity);
+                nextSibling = Arrays.copyOf(nextSibling, capacity);
+                postings = Arrays.copyOf(postings, capacity);
+            }
+            label[size] = c;
+            firstChild[size] = -1;
+            lastChild[size] = -1;
+            nextSibling[size] = -1;
+            return size++;
+        }
+    }
+}
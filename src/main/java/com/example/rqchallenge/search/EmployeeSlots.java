@@ -0,0 +1,70 @@
+package com.example.rqchallenge.search;
+
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stable numbering of employees for indexes that follow local changes. Positions in a snapshot shift on
+ * every removal, slots don't: a removed employee leaves a hole and added ones get fresh slots at the end.
+ * Kept employees never change their relative order and added ones come after them in both numberings,
+ * so ordering by slot is the same as ordering by position.
+ */
+final class EmployeeSlots {
+
+    private final Employee[] employees;     // by slot, null once removed
+
+    private final int[] slotAt;             // slot of each snapshot position
+
+    private EmployeeSlots(Employee[] employees, int[] slotAt) {
+        this.employees = employees;
+        this.slotAt = slotAt;
+    }
+
+    static EmployeeSlots of(List<Employee> employees) {
+        int[] slotAt = new int[employees.size()];
+        for (int position = 0; position < slotAt.length; position++) {
+            slotAt[position] = position;
+        }
+        return new EmployeeSlots(employees.toArray(new Employee[0]), slotAt);
+    }
+
+    int capacity() {
+        return employees.length;
+    }
+
+    Employee employee(int slot) {
+        return employees[slot];
+    }
+
+    int slotAt(int position) {
+        return slotAt[position];
+    }
+
+    /**
+     * @param removedPositions ascending positions in the previous snapshot, must match this numbering
+     * @param firstAdded       position in next of the first added employee; their slots start at {@link #capacity()}
+     */
+    EmployeeSlots afterChanges(EmployeeSnapshot next, int[] removedPositions, int firstAdded) {
+        List<Employee> nextEmployees = next.getEmployees();
+        int added = nextEmployees.size() - firstAdded;
+        Employee[] nextBySlot = Arrays.copyOf(employees, employees.length + added);
+        int[] nextSlotAt = new int[nextEmployees.size()];
+        int size = 0;
+        for (int position = 0, removed = 0; position < slotAt.length; position++) {
+            if (removed < removedPositions.length && removedPositions[removed] == position) {
+                nextBySlot[slotAt[position]] = null;
+                removed++;
+            } else {
+                nextSlotAt[size++] = slotAt[position];
+            }
+        }
+        for (int i = 0; i < added; i++) {
+            nextBySlot[employees.length + i] = nextEmployees.get(firstAdded + i);
+            nextSlotAt[size++] = employees.length + i;
+        }
+        return new EmployeeSlots(nextBySlot, nextSlotAt);
+    }
+}
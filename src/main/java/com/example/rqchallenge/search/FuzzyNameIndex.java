@@ -0,0 +1,377 @@
+package com.example.rqchallenge.search;
+
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Ranked fuzzy name search over the distinct normalized name tokens of a snapshot.
+ * <p>
+ * Tokens are kept sorted, so exact and prefix matches are binary searches, and are also organised in a
+ * BK-tree, so tokens within the edit distance are found without comparing against every token. Each
+ * query token is scored per employee as exact (0), prefix (1) or fuzzy (1 + edit distance); an employee
+ * has to match every query token and results are ordered by the summed score.
+ * <p>
+ * Local creates and deletes are carried over instead of rebuilding: postings refer to employee slots, so
+ * only the postings of the changed names are touched, and new tokens are appended and inserted into the
+ * tree. Tokens whose last employee was removed stay in the tree with empty postings until the next full build.
+ */
+public final class FuzzyNameIndex implements EmployeeSnapshot.IncrementalIndex {
+
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+
+    private final EmployeeSlots slots;
+
+    private final String[] tokens;          // distinct, by token id
+
+    private final int[] sortedTokens;       // token ids in token order
+
+    private final int[][] postings;         // employee slots per token id, ascending
+
+    // BK-tree over token ids, children kept as linked lists in primitive arrays
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final int[] edgeDistance;
+    private final int root;
+
+    private FuzzyNameIndex(EmployeeSlots slots, String[] tokens, int[] sortedTokens, int[][] postings,
+                           int[] firstChild, int[] nextSibling, int[] edgeDistance, int root) {
+        this.slots = slots;
+        this.tokens = tokens;
+        this.sortedTokens = sortedTokens;
+        this.postings = postings;
+        this.firstChild = firstChild;
+        this.nextSibling = nextSibling;
+        this.edgeDistance = edgeDistance;
+        this.root = root;
+    }
+
+    public static FuzzyNameIndex build(EmployeeSnapshot snapshot) {
+        List<Employee> employees = snapshot.getEmployees();
+        TreeMap<String, List<Integer>> tokenPostings = new TreeMap<>();
+        for (int i = 0; i < employees.size(); i++) {
+            addPostings(tokenPostings, employees.get(i), i);
+        }
+        String[] tokens = tokenPostings.keySet().toArray(new String[0]);
+        int[] sortedTokens = new int[tokens.length];
+        int[][] postings = new int[tokens.length][];
+        int next = 0;
+        for (List<Integer> posting : tokenPostings.values()) {
+            sortedTokens[next] = next;
+            postings[next++] = toArray(posting);
+        }
+
+        int[] firstChild = new int[tokens.length];
+        int[] nextSibling = new int[tokens.length];
+        int[] edgeDistance = new int[tokens.length];
+        Arrays.fill(firstChild, -1);
+        Arrays.fill(nextSibling, -1);
+        int root = tokens.length > 0 ? 0 : -1;
+        // Insert in a scrambled order, inserting sorted tokens would produce a degenerate tree
+        for (int i = 1; i < tokens.length; i++) {
+            insert(tokens, firstChild, nextSibling, edgeDistance, root, scramble(i, tokens.length));
+        }
+        return new FuzzyNameIndex(EmployeeSlots.of(employees), tokens, sortedTokens, postings,
+                firstChild, nextSibling, edgeDistance, root);
+    }
+
+    @Override
+    public FuzzyNameIndex afterChanges(EmployeeSnapshot next, int[] removedPositions, int firstAdded) {
+        EmployeeSlots nextSlots = slots.afterChanges(next, removedPositions, firstAdded);
+        int[][] nextPostings = postings.clone();
+        for (int position : removedPositions) {
+            int slot = slots.slotAt(position);
+            for (String token : NameTokenizer.tokenize(slots.employee(slot).getEmployeeName())) {
+                int id = find(token);
+                nextPostings[id] = without(nextPostings[id], slot);
+            }
+        }
+
+        TreeMap<String, List<Integer>> addedPostings = new TreeMap<>();
+        List<Employee> employees = next.getEmployees();
+        for (int position = firstAdded; position < employees.size(); position++) {
+            addPostings(addedPostings, employees.get(position), nextSlots.slotAt(position));
+        }
+        List<String> newTokens = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> entry : addedPostings.entrySet()) {
+            int id = find(entry.getKey());
+            if (id >= 0) {
+                // Added slots are above every existing one, appending keeps the postings ascending
+                int[] posting = nextPostings[id];
+                int[] merged = Arrays.copyOf(posting, posting.length + entry.getValue().size());
+                for (int i = 0; i < entry.getValue().size(); i++) {
+                    merged[posting.length + i] = entry.getValue().get(i);
+                }
+                nextPostings[id] = merged;
+            } else {
+                newTokens.add(entry.getKey());
+            }
+        }
+        if (newTokens.isEmpty()) {
+            return new FuzzyNameIndex(nextSlots, tokens, sortedTokens, nextPostings,
+                    firstChild, nextSibling, edgeDistance, root);
+        }
+
+        int size = tokens.length + newTokens.size();
+        String[] nextTokens = Arrays.copyOf(tokens, size);
+        nextPostings = Arrays.copyOf(nextPostings, size);
+        int[] nextFirstChild = Arrays.copyOf(firstChild, size);
+        int[] nextNextSibling = Arrays.copyOf(nextSibling, size);
+        int[] nextEdgeDistance = Arrays.copyOf(edgeDistance, size);
+        Arrays.fill(nextFirstChild, tokens.length, size, -1);
+        Arrays.fill(nextNextSibling, tokens.length, size, -1);
+        int nextRoot = root == -1 ? tokens.length : root;
+        for (int i = 0; i < newTokens.size(); i++) {
+            int id = tokens.length + i;
+            nextTokens[id] = newTokens.get(i);
+            nextPostings[id] = toArray(addedPostings.get(newTokens.get(i)));
+            if (id != nextRoot) {
+                insert(nextTokens, nextFirstChild, nextNextSibling, nextEdgeDistance, nextRoot, id);
+            }
+        }
+
+        // Both lists are in token order, merge them
+        int[] nextSorted = new int[size];
+        for (int i = 0, a = 0, b = 0; i < size; i++) {
+            boolean takeNew = b < newTokens.size()
+                    && (a == sortedTokens.length || newTokens.get(b).compareTo(tokens[sortedTokens[a]]) < 0);
+            nextSorted[i] = takeNew ? tokens.length + b++ : sortedTokens[a++];
+        }
+        return new FuzzyNameIndex(nextSlots, nextTokens, nextSorted, nextPostings,
+                nextFirstChild, nextNextSibling, nextEdgeDistance, nextRoot);
+    }
+
+    /**
+     * @return matching employees, best match first, at most limit of them
+     */
+    public List<Employee> search(String query, int maxDistance, int limit) {
+        List<String> queryTokens = NameTokenizer.tokenize(query);
+        if (queryTokens.isEmpty() || tokens.length == 0) {
+            return new ArrayList<>();
+        }
+
+        Scores scores = new Scores(slots.capacity());
+        for (String queryToken : queryTokens) {
+            scoreToken(queryToken, maxDistance, scores);
+            // Every query token has to match, only slots hit by all of them so far are left
+            if (scores.endToken() == 0) {
+                return new ArrayList<>();
+            }
+        }
+
+        // Ranked by score, then by the order of the source list, which slots follow
+        long[] ranked = new long[scores.matches];
+        for (int i = 0; i < ranked.length; i++) {
+            int slot = scores.hits[i];
+            ranked[i] = ((long) scores.total[slot] << 32) | slot;
+        }
+        Arrays.sort(ranked);
+        List<Employee> results = new ArrayList<>(Math.min(limit, ranked.length));
+        for (int i = 0; i < ranked.length && results.size() < limit; i++) {
+            results.add(slots.employee((int) ranked[i]));
+        }
+        return results;
+    }
+
+    // Best score per employee slot for one query token
+    private void scoreToken(String queryToken, int maxDistance, Scores scores) {
+        for (int i = lowerBound(queryToken); i < sortedTokens.length && tokens[sortedTokens[i]].startsWith(queryToken); i++) {
+            int token = sortedTokens[i];
+            addPostings(scores, token, tokens[token].length() == queryToken.length() ? EXACT : PREFIX);
+        }
+
+        if (maxDistance > 0) {
+            List<int[]> fuzzy = new ArrayList<>();
+            collectWithin(queryToken, maxDistance, fuzzy);
+            for (int[] match : fuzzy) {
+                addPostings(scores, match[0], PREFIX + match[1]);
+            }
+        }
+    }
+
+    private void addPostings(Scores scores, int token, int score) {
+        for (int slot : postings[token]) {
+            scores.offer(slot, score);
+        }
+    }
+
+    private void collectWithin(String query, int maxDistance, List<int[]> matches) {
+        int[] stack = new int[Math.max(16, tokens.length)];
+        int size = 0;
+        stack[size++] = root;
+        int[] previousRow = new int[query.length() + 1];
+        int[] currentRow = new int[query.length() + 1];
+        while (size > 0) {
+            int node = stack[--size];
+            int distance = levenshtein(query, tokens[node], previousRow, currentRow);
+            if (distance > 0 && distance <= maxDistance) {
+                matches.add(new int[]{node, distance});
+            }
+            // Triangle inequality: only subtrees whose edge is within maxDistance of this distance can match
+            for (int child = firstChild[node]; child != -1; child = nextSibling[child]) {
+                if (Math.abs(edgeDistance[child] - distance) <= maxDistance) {
+                    stack[size++] = child;
+                }
+            }
+        }
+    }
+
+    /**
+     * Scores of one search in primitive arrays indexed by employee slot. Query tokens are scored one after
+     * the other; a slot that misses one is ignored from then on, the others add up their best scores.
+     */
+    private static final class Scores {
+
+        private final int[] total;     // summed best scores of the query tokens scored so far
+        private final int[] matched;   // number of query tokens the slot matched
+        private final int[] best;      // best score + 1 for the current query token, 0 while not hit
+
+        private int[] hits = new int[64];   // slots hit by the current query token, then the matches
+        private int hitCount;
+        private int matches;
+        private int round;
+
+        private Scores(int capacity) {
+            total = new int[capacity];
+            matched = new int[capacity];
+            best = new int[capacity];
+        }
+
+        void offer(int slot, int score) {
+            if (matched[slot] != round) {
+                return;
+            }
+            if (best[slot] == 0) {
+                if (hitCount == hits.length) {
+                    hits = Arrays.copyOf(hits, hitCount * 2);
+                }
+                hits[hitCount++] = slot;
+                best[slot] = score + 1;
+            } else if (score + 1 < best[slot]) {
+                best[slot] = score + 1;
+            }
+        }
+
+        /**
+         * @return number of slots that matched every query token so far, they are the first hits
+         */
+        int endToken() {
+            for (int i = 0; i < hitCount; i++) {
+                int slot = hits[i];
+                total[slot] += best[slot] - 1;
+                matched[slot] = round + 1;
+                best[slot] = 0;
+            }
+            matches = hitCount;
+            hitCount = 0;
+            round++;
+            return matches;
+        }
+    }
+
+    private static void insert(String[] tokens, int[] firstChild, int[] nextSibling, int[] edgeDistance,
+                               int root, int token) {
+        int[] previousRow = new int[tokens[token].length() + 1];
+        int[] currentRow = new int[tokens[token].length() + 1];
+        int node = root;
+        while (true) {
+            int distance = levenshtein(tokens[token], tokens[node], previousRow, currentRow);
+            int child = firstChild[node];
+            while (child != -1 && edgeDistance[child] != distance) {
+                child = nextSibling[child];
+            }
+            if (child == -1) {
+                edgeDistance[token] = distance;
+                nextSibling[token] = firstChild[node];
+                firstChild[node] = token;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    // Token id of an indexed token, -1 when it is not in the index
+    private int find(String token) {
+        int i = lowerBound(token);
+        return i < sortedTokens.length && tokens[sortedTokens[i]].equals(token) ? sortedTokens[i] : -1;
+    }
+
+    // First position in sortedTokens whose token is not below the key
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = sortedTokens.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (tokens[sortedTokens[middle]].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static void addPostings(Map<String, List<Integer>> tokenPostings, Employee employee, int slot) {
+        for (String token : NameTokenizer.tokenize(employee.getEmployeeName())) {
+            List<Integer> posting = tokenPostings.computeIfAbsent(token, key -> new ArrayList<>());
+            if (posting.isEmpty() || posting.get(posting.size() - 1) != slot) {
+                posting.add(slot);
+            }
+        }
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] without(int[] sorted, int value) {
+        int i = Arrays.binarySearch(sorted, value);
+        if (i < 0) {
+            return sorted;
+        }
+        int[] result = new int[sorted.length - 1];
+        System.arraycopy(sorted, 0, result, 0, i);
+        System.arraycopy(sorted, i + 1, result, i, result.length - i);
+        return result;
+    }
+
+    // Visits 1..length-1 in an order that jumps around the sorted token array (multiplicative permutation)
+    private static int scramble(int i, int length) {
+        long step = 0x9E3779B1L % length;
+        while (gcd(step, length) != 1) {
+            step++;
+        }
+        return (int) ((i * step) % length);
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    // Classic two-row edit distance, rows are passed in to avoid allocating per comparison
+    static int levenshtein(String a, String b, int[] previousRow, int[] currentRow) {
+        int[] previous = previousRow.length > a.length() ? previousRow : new int[a.length() + 1];
+        int[] current = currentRow.length > a.length() ? currentRow : new int[a.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            previous[i] = i;
+        }
+        for (int j = 1; j <= b.length(); j++) {
+            current[0] = j;
+            char bChar = b.charAt(j - 1);
+            for (int i = 1; i <= a.length(); i++) {
+                int substitution = previous[i - 1] + (a.charAt(i - 1) == bChar ? 0 : 1);
+                current[i] = Math.min(substitution, Math.min(previous[i] + 1, current[i - 1] + 1));
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[a.length()];
+    }
+}
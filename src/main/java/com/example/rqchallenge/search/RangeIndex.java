@@ -0,0 +1,151 @@
+package com.example.rqchallenge.search;
+
+import com.example.rqchallenge.model.EmployeeSnapshot;
+
+import java.util.Arrays;
+
+/**
+ * Sorted primitive indexes over the salary and age columns of a snapshot. A range is located with two
+ * binary searches and the matching positions come out in value order, so a query costs O(log n + k).
+ * <p>
+ * Employees whose value is missing are left out of that column's index. A batch of adds and removes is
+ * merged into the sorted arrays in one pass instead of sorting again.
+ */
+public final class RangeIndex implements EmployeeSnapshot.IncrementalIndex {
+
+    private final SortedColumn salaries;
+
+    private final SortedColumn ages;
+
+    private RangeIndex(SortedColumn salaries, SortedColumn ages) {
+        this.salaries = salaries;
+        this.ages = ages;
+    }
+
+    public static RangeIndex build(EmployeeSnapshot snapshot) {
+        return new RangeIndex(SortedColumn.of(snapshot.getSalaries()), SortedColumn.of(snapshot.getAges()));
+    }
+
+    public SortedColumn salaries() {
+        return salaries;
+    }
+
+    public SortedColumn ages() {
+        return ages;
+    }
+
+    @Override
+    public RangeIndex afterChanges(EmployeeSnapshot next, int[] removedPositions, int firstAdded) {
+        return new RangeIndex(salaries.withChanges(removedPositions, next.getSalaries(), firstAdded),
+                ages.withChanges(removedPositions, next.getAges(), firstAdded));
+    }
+
+    /**
+     * Values in ascending order with the employee position of each, ties ordered by position.
+     */
+    public static final class SortedColumn {
+
+        private final int[] values;
+
+        private final int[] positions;
+
+        private SortedColumn(int[] values, int[] positions) {
+            this.values = values;
+            this.positions = positions;
+        }
+
+        static SortedColumn of(int[] column) {
+            // Value in the high half and position in the low half, one primitive sort orders both
+            long[] keys = new long[column.length];
+            int size = 0;
+            for (int position = 0; position < column.length; position++) {
+                if (column[position] >= 0) {
+                    keys[size++] = ((long) column[position] << 32) | position;
+                }
+            }
+            Arrays.sort(keys, 0, size);
+            int[] values = new int[size];
+            int[] positions = new int[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = (int) (keys[i] >>> 32);
+                positions[i] = (int) keys[i];
+            }
+            return new SortedColumn(values, positions);
+        }
+
+        public int size() {
+            return values.length;
+        }
+
+        public int valueAt(int i) {
+            return values[i];
+        }
+
+        public int positionAt(int i) {
+            return positions[i];
+        }
+
+        /**
+         * @return first index whose value is at least min
+         */
+        public int from(int min) {
+            return lowerBound(values, 0, values.length, min);
+        }
+
+        /**
+         * @return index after the last one whose value is at most max
+         */
+        public int to(int max) {
+            return max == Integer.MAX_VALUE ? values.length : lowerBound(values, 0, values.length, max + 1);
+        }
+
+        // Drops removed entries and shifts the rest down, then merges in the added ones: O(n log k + k log k)
+        SortedColumn withChanges(int[] removedPositions, int[] nextColumn, int firstAdded) {
+            long[] added = new long[nextColumn.length - firstAdded];
+            int addedSize = 0;
+            for (int position = firstAdded; position < nextColumn.length; position++) {
+                if (nextColumn[position] >= 0) {
+                    added[addedSize++] = ((long) nextColumn[position] << 32) | position;
+                }
+            }
+            Arrays.sort(added, 0, addedSize);
+
+            int[] nextValues = new int[values.length + addedSize];
+            int[] nextPositions = new int[nextValues.length];
+            int size = 0;
+            int a = 0;
+            for (int i = 0; i < values.length; i++) {
+                int removedBefore = lowerBound(removedPositions, 0, removedPositions.length, positions[i]);
+                if (removedBefore < removedPositions.length && removedPositions[removedBefore] == positions[i]) {
+                    continue;
+                }
+                // Added employees come after every kept one, so on equal values the kept entry goes first
+                while (a < addedSize && (int) (added[a] >>> 32) < values[i]) {
+                    nextValues[size] = (int) (added[a] >>> 32);
+                    nextPositions[size++] = (int) added[a++];
+                }
+                nextValues[size] = values[i];
+                nextPositions[size++] = positions[i] - removedBefore;
+            }
+            while (a < addedSize) {
+                nextValues[size] = (int) (added[a] >>> 32);
+                nextPositions[size++] = (int) added[a++];
+            }
+            return size == nextValues.length
+                    ? new SortedColumn(nextValues, nextPositions)
+                    : new SortedColumn(Arrays.copyOf(nextValues, size), Arrays.copyOf(nextPositions, size));
+        }
+
+        private static int lowerBound(int[] sorted, int low, int high, int key) {
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (sorted[middle] < key) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.rqchallenge.service;
+
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeePage;
+import com.example.rqchallenge.model.EmployeeRangeQuery;
+import com.example.rqchallenge.model.SuggestionOrder;
+
+import java.util.List;
+
+public interface EmployeeSearchService {
+
+    List<Employee> fuzzySearch(String query, Integer maxDistance, int limit);
+
+    List<Employee> autocomplete(String prefix, SuggestionOrder order, int limit);
+
+    EmployeePage rangeSearch(EmployeeRangeQuery query);
+
+}
@@ -1,13 +1,33 @@
 package com.example.rqchallenge.service;
 
 import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import com.example.rqchallenge.model.EmployeeSummary;
+import com.example.rqchallenge.model.SummaryComponent;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 public interface EmployeeService {
 
     List<Employee> getAllEmployees();
 
+    EmployeeSnapshot getSnapshot();
+
+    /**
+     * The current snapshot if it is within its TTL, without refreshing it or waiting for a refresh in progress.
+     */
+    Optional<EmployeeSnapshot> getFreshSnapshot();
+
+    /**
+     * Fetches the data now whatever its age. The current snapshot keeps being served, and stays fresh,
+     * until the fetched one is swapped in.
+     */
+    EmployeeSnapshot refreshSnapshot();
+
+    EmployeeSnapshot getSnapshotForPeer();
+
     Employee getEmployeeById(String id);
 
     List<Employee> getEmployeesByNameSearch(String name);
@@ -16,6 +36,8 @@ public interface EmployeeService {
 
     List<String> getTopTenHighestEarningEmployeeNames();
 
+    EmployeeSummary getEmployeeSummary(Set<SummaryComponent> components, int topN, String searchString);
+
     String createEmployee(Employee employee);
 
     String deleteEmployeeById(String id);
@@ -0,0 +1,262 @@
+package com.example.rqchallenge.service.Impl;
+
+import com.example.rqchallenge.constants.AppConstants;
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeePage;
+import com.example.rqchallenge.model.EmployeeRangeQuery;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import com.example.rqchallenge.model.EmployeeSortField;
+import com.example.rqchallenge.model.SuggestionOrder;
+import com.example.rqchallenge.search.AutocompleteIndex;
+import com.example.rqchallenge.search.FuzzyNameIndex;
+import com.example.rqchallenge.search.RangeIndex;
+import com.example.rqchallenge.service.EmployeeSearchService;
+import com.example.rqchallenge.service.EmployeeService;
+import com.example.rqchallenge.store.EmployeeStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class EmployeeSearchServiceImpl implements EmployeeSearchService {
+
+    // Edit distances above 3 match almost any short name, so requests are capped there
+    private static final int MAX_EDIT_DISTANCE = 3;
+
+    @Autowired
+    private final EmployeeService employeeService;
+
+    @Autowired
+    private final EmployeeStore employeeStore;
+
+    @Value("${employee.search.fuzzy.max-distance:2}")
+    private int defaultMaxDistance = 2;
+
+    // Suggestions precomputed per trie node, also the largest limit an autocomplete request can ask for
+    @Value("${employee.search.autocomplete.suggestions:10}")
+    private int autocompleteSuggestions = 10;
+
+    // Builds the indexes of snapshots fetched from upstream or a peer, off the request path
+    private final ExecutorService indexBuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-index-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Only indexes that have been queried are built ahead of time
+    private volatile boolean fuzzyInUse;
+    private volatile boolean autocompleteInUse;
+
+    @PostConstruct
+    public void registerIndexBuilder() {
+        employeeStore.addUpdateListener(snapshot -> {
+            if (fuzzyInUse || autocompleteInUse) {
+                indexBuilder.execute(this::buildIndexes);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexBuilder.shutdownNow();
+    }
+
+    /**
+     * Builds the indexes in use for the current snapshot. Local writes carry them over incrementally, so
+     * only data replaced by a refresh needs a full build; a request arriving before it finishes waits for
+     * this build instead of starting its own.
+     */
+    public void buildIndexes() {
+        EmployeeSnapshot snapshot = employeeStore.current();
+        long start = System.nanoTime();
+        try {
+            if (fuzzyInUse) {
+                fuzzyIndex(snapshot);
+            }
+            if (autocompleteInUse) {
+                autocompleteIndex(snapshot);
+            }
+            log.debug("Search indexes for snapshot version {} ready in {} ms",
+                    snapshot.getVersion(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            // The next request builds whatever is missing
+            log.warn("Building search indexes for snapshot version {} failed: {}", snapshot.getVersion(), e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<Employee> fuzzySearch(String query, Integer maxDistance, int limit) {
+        int distance = maxDistance != null ? maxDistance : defaultMaxDistance;
+        if (distance < 0 || distance > MAX_EDIT_DISTANCE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "maxDistance must be between 0 and " + MAX_EDIT_DISTANCE);
+        }
+        if (limit < 1 || limit > AppConstants.MAX_SEARCH_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + AppConstants.MAX_SEARCH_LIMIT);
+        }
+
+        fuzzyInUse = true;
+        List<Employee> results = fuzzyIndex(employeeService.getSnapshot()).search(query, distance, limit);
+        log.debug("Fuzzy search for '{}' within distance {} matched {} employees", query, distance, results.size());
+        return results;
+    }
+
+    @Override
+    public List<Employee> autocomplete(String prefix, SuggestionOrder order, int limit) {
+        if (limit < 1 || limit > autocompleteSuggestions) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + autocompleteSuggestions);
+        }
+
+        autocompleteInUse = true;
+        return autocompleteIndex(employeeService.getSnapshot()).suggest(prefix, order, limit);
+    }
+
+    // Built once per upstream version, usually by buildIndexes, and carried over by local writes
+    private FuzzyNameIndex fuzzyIndex(EmployeeSnapshot snapshot) {
+        return snapshot.getIndex(FuzzyNameIndex.class, FuzzyNameIndex::build);
+    }
+
+    // Swapped in with the snapshot, so a keystroke never sees a half-built trie
+    private AutocompleteIndex autocompleteIndex(EmployeeSnapshot snapshot) {
+        return snapshot.getIndex(AutocompleteIndex.class, data -> AutocompleteIndex.build(data, autocompleteSuggestions));
+    }
+
+    @Override
+    public EmployeePage rangeSearch(EmployeeRangeQuery query) {
+        validate(query.getMinSalary(), query.getMaxSalary(), "salary");
+        validate(query.getMinAge(), query.getMaxAge(), "age");
+        if (query.getPage() < 0 || query.getSize() < 1 || query.getSize() > AppConstants.MAX_SEARCH_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "page must not be negative and size must be between 1 and " + AppConstants.MAX_SEARCH_LIMIT);
+        }
+
+        EmployeeSnapshot snapshot = employeeService.getSnapshot();
+        RangeIndex index = snapshot.getIndex(RangeIndex.class, RangeIndex::build);
+
+        // Walk the narrower of the two ranges in value order and check everything else per match
+        RangeIndex.SortedColumn driver = null;
+        EmployeeSortField drivenBy = null;
+        int from = 0;
+        int to = snapshot.getEmployees().size();
+        if (query.hasSalaryRange()) {
+            driver = index.salaries();
+            drivenBy = EmployeeSortField.SALARY;
+            from = driver.from(lowerOrZero(query.getMinSalary()));
+            to = driver.to(upperOrMax(query.getMaxSalary()));
+        }
+        if (query.hasAgeRange()) {
+            RangeIndex.SortedColumn ages = index.ages();
+            int ageFrom = ages.from(lowerOrZero(query.getMinAge()));
+            int ageTo = ages.to(upperOrMax(query.getMaxAge()));
+            if (driver == null || Math.max(0, ageTo - ageFrom) < Math.max(0, to - from)) {
+                driver = ages;
+                drivenBy = EmployeeSortField.AGE;
+                from = ageFrom;
+                to = ageTo;
+            }
+        }
+
+        String name = query.getName() == null ? null : query.getName().toLowerCase();
+        int[] matches = new int[Math.max(0, to - from)];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            int position = driver != null ? driver.positionAt(i) : i;
+            if (matches(snapshot, position, query, name)) {
+                matches[count++] = position;
+            }
+        }
+        matches = Arrays.copyOf(matches, count);
+
+        EmployeeSortField sort = query.getSort() != null ? query.getSort() : EmployeeSortField.SALARY;
+        if (sort != drivenBy) {
+            matches = sorted(snapshot, matches, sort);
+        }
+
+        long offset = (long) query.getPage() * query.getSize();
+        List<Employee> employees = new ArrayList<>();
+        for (long i = offset; i < count && employees.size() < query.getSize(); i++) {
+            int at = query.isDescending() ? count - 1 - (int) i : (int) i;
+            employees.add(snapshot.getEmployees().get(matches[at]));
+        }
+        log.debug("Range query matched {} employees, returning page {} of size {}", count, query.getPage(), query.getSize());
+        return new EmployeePage(snapshot.getVersion(), count, query.getPage(), query.getSize(), employees);
+    }
+
+    private static void validate(Integer min, Integer max, String field) {
+        if ((min != null && min < 0) || (max != null && max < 0)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, field + " bounds must not be negative");
+        }
+        if (min != null && max != null && min > max) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "min " + field + " must not exceed max " + field);
+        }
+    }
+
+    private static int lowerOrZero(Integer min) {
+        return min != null ? min : 0;
+    }
+
+    private static int upperOrMax(Integer max) {
+        return max != null ? max : Integer.MAX_VALUE;
+    }
+
+    private static boolean matches(EmployeeSnapshot snapshot, int position, EmployeeRangeQuery query, String name) {
+        if (query.hasSalaryRange() && !within(snapshot.getSalaries()[position], query.getMinSalary(), query.getMaxSalary())) {
+            return false;
+        }
+        if (query.hasAgeRange() && !within(snapshot.getAges()[position], query.getMinAge(), query.getMaxAge())) {
+            return false;
+        }
+        return name == null || Optional.ofNullable(snapshot.getEmployees().get(position).getEmployeeName())
+                .orElse("")
+                .toLowerCase()
+                .contains(name);
+    }
+
+    private static boolean within(int value, Integer min, Integer max) {
+        return value >= 0 && value >= lowerOrZero(min) && value <= upperOrMax(max);
+    }
+
+    // Ascending by the field with missing values first, ties in source order
+    private static int[] sorted(EmployeeSnapshot snapshot, int[] positions, EmployeeSortField sort) {
+        if (sort == EmployeeSortField.NAME) {
+            Comparator<Integer> byName = Comparator.comparing(
+                    (Integer position) -> Optional.ofNullable(snapshot.getEmployees().get(position).getEmployeeName())
+                            .orElse("")
+                            .toLowerCase(Locale.ROOT));
+            return Arrays.stream(positions).boxed()
+                    .sorted(byName.thenComparing(Comparator.naturalOrder()))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+        int[] column = sort == EmployeeSortField.SALARY ? snapshot.getSalaries() : snapshot.getAges();
+        long[] keys = new long[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            keys[i] = (((long) column[positions[i]] + 1) << 32) | positions[i];
+        }
+        Arrays.sort(keys);
+        int[] sorted = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            sorted[i] = (int) keys[i];
+        }
+        return sorted;
+    }
+}
@@ -1,15 +1,24 @@
 package com.example.rqchallenge.service.Impl;
 
+import com.example.rqchallenge.analytics.TopSalarySelector;
+import com.example.rqchallenge.cluster.ClusterSnapshotClient;
 import com.example.rqchallenge.constants.AppConstants;
 import com.example.rqchallenge.exceptions.EmployeeNotFoundException;
 import com.example.rqchallenge.exceptions.EmployeeServiceException;
 import com.example.rqchallenge.model.Employee;
 import com.example.rqchallenge.model.EmployeeApiResponse;
 import com.example.rqchallenge.model.EmployeeListResponse;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import com.example.rqchallenge.model.EmployeeSummary;
+import com.example.rqchallenge.model.SummaryComponent;
 import com.example.rqchallenge.service.EmployeeService;
+import com.example.rqchallenge.store.EmployeeMutation;
+import com.example.rqchallenge.store.EmployeeStore;
+import com.example.rqchallenge.sync.EmployeeChangeFeed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -20,10 +29,13 @@ import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,6 +46,29 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Autowired
     private final WebClient webClient;
 
+    @Autowired
+    private final EmployeeChangeFeed changeFeed;
+
+    @Autowired
+    private final ClusterSnapshotClient clusterSnapshotClient;
+
+    @Autowired
+    private final EmployeeStore employeeStore;
+
+    @Value("${employee.snapshot.ttl-ms:5000}")
+    private long snapshotTtlMillis = 5000;
+
+    // Bounds the refresh, readers of a stale snapshot wait for it under snapshotLock
+    @Value("${employee.upstream.fetch-timeout-ms:10000}")
+    private long fetchTimeoutMillis = 10000;
+
+    // Bounds a create, the write-behind flusher makes it while holding its lock on the shared scheduler
+    @Value("${employee.upstream.write-timeout-ms:10000}")
+    private long writeTimeoutMillis = 10000;
+
+    // Only one thread refreshes from upstream at a time, readers and local writes never wait for it
+    private final Object snapshotLock = new Object();
+
     // Common method for retrieving and checking response status
     private <T> T processApiResponse(Mono<T> responseMono, String errorMessage) {
         try {
@@ -53,6 +88,117 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Override
     public List<Employee> getAllEmployees() {
         log.debug("Fetching all employees");
+        return getSnapshot().getEmployees();
+    }
+
+    @Override
+    public EmployeeSnapshot getSnapshot() {
+        return getSnapshot(true);
+    }
+
+    @Override
+    public Optional<EmployeeSnapshot> getFreshSnapshot() {
+        EmployeeSnapshot current = employeeStore.current();
+        return current.isFresh(System.currentTimeMillis(), snapshotTtlMillis) ? Optional.of(current) : Optional.empty();
+    }
+
+    @Override
+    public EmployeeSnapshot getSnapshotForPeer() {
+        // Never ask another peer here, two instances disagreeing on the leader would otherwise call each other
+        return getSnapshot(false);
+    }
+
+    private EmployeeSnapshot getSnapshot(boolean allowPeerFetch) {
+        EmployeeSnapshot current = employeeStore.current();
+        if (current.isFresh(System.currentTimeMillis(), snapshotTtlMillis)) {
+            return current;
+        }
+        synchronized (snapshotLock) {
+            // Another thread may have refreshed the snapshot while we were waiting
+            current = employeeStore.current();
+            if (current.isFresh(System.currentTimeMillis(), snapshotTtlMillis)) {
+                return current;
+            }
+            return refresh(current, allowPeerFetch);
+        }
+    }
+
+    // Fetches into a new snapshot and swaps it in, the current one keeps being served until then.
+    // Callers hold snapshotLock.
+    private EmployeeSnapshot refresh(EmployeeSnapshot current, boolean allowPeerFetch) {
+        long now = System.currentTimeMillis();
+        long baseVersion = current.getVersion();
+        EmployeeSnapshot fromPeer = allowPeerFetch ? clusterSnapshotClient.fetchFromLeader().orElse(null) : null;
+        EmployeeListResponse response = fromPeer == null ? fetchAllEmployees() : null;
+        EmployeeSnapshot refreshed = employeeStore.update(latest -> {
+            EmployeeSnapshot fetched = fromPeer != null
+                    ? adoptPeerSnapshot(latest, fromPeer, now)
+                    : fromUpstream(latest, response, now);
+            if (fetched.getVersion() == latest.getVersion()) {
+                return fetched;
+            }
+            // Local writes published during the fetch may be missing from the fetched data, replay them on top
+            EmployeeSnapshot replayed = employeeStore.replayLocalChanges(fetched, baseVersion);
+            // Nothing changed upstream, the fetch only missed our own writes
+            return replayed != fetched && replayed.getEmployees().equals(latest.getEmployees())
+                    ? latest.withFetchedAt(now)
+                    : replayed;
+        });
+        if (refreshed.getVersion() != current.getVersion()) {
+            log.info("Employee snapshot advanced to version {}", refreshed.getVersion());
+        }
+        return refreshed;
+    }
+
+    private static EmployeeSnapshot fromUpstream(EmployeeSnapshot current, EmployeeListResponse response, long now) {
+        if (!"success".equals(response.getStatus())) {
+            // Keep serving the previous data and back off until the TTL elapses again
+            log.warn("Employee refresh failed, serving snapshot version {}", current.getVersion());
+            return current.withFetchedAt(now);
+        }
+        if (response.getData().equals(current.getEmployees())) {
+            return current.withFetchedAt(now);
+        }
+        return new EmployeeSnapshot(current.getVersion() + 1,
+                Collections.unmodifiableList(new ArrayList<>(response.getData())), now);
+    }
+
+    // Versions stay local: with local writes in between, the leader's version number may stand for other data
+    // here. What identifies the data across instances is its content hash, which validators are built from.
+    private static EmployeeSnapshot adoptPeerSnapshot(EmployeeSnapshot current, EmployeeSnapshot fromPeer, long now) {
+        if (fromPeer.getEmployees().equals(current.getEmployees())) {
+            return current.withFetchedAt(now);
+        }
+        return new EmployeeSnapshot(current.getVersion() + 1, fromPeer.getEmployees(), now);
+    }
+
+    @Override
+    public EmployeeSnapshot refreshSnapshot() {
+        long requestedAt = System.currentTimeMillis();
+        synchronized (snapshotLock) {
+            EmployeeSnapshot current = employeeStore.current();
+            // A reader already refreshed it while we were waiting for the lock
+            if (current.getFetchedAt() >= requestedAt) {
+                return current;
+            }
+            return refresh(current, true);
+        }
+    }
+
+    // Forces the next read to go upstream, used after writes that could not be applied locally
+    private void invalidateSnapshot() {
+        employeeStore.update(current -> current.withFetchedAt(0L));
+    }
+
+    // Applies a successful write to the local store so reads see it and incremental indexes follow it
+    // without a rebuild. Falls back to invalidating when the store cannot apply it.
+    private void applyLocally(EmployeeMutation mutation) {
+        if (!employeeStore.apply(mutation)) {
+            invalidateSnapshot();
+        }
+    }
+
+    private EmployeeListResponse fetchAllEmployees() {
         String url = UriComponentsBuilder.fromUriString(AppConstants.GET_ALL_EMPLOYEES).toUriString();
 
         Mono<EmployeeListResponse> responseMono = webClient.get()
@@ -68,14 +214,13 @@ public class EmployeeServiceImpl implements EmployeeService {
                         return Mono.just(new EmployeeListResponse("failure", Collections.emptyList()));
                     }
                 })
+                .timeout(Duration.ofMillis(fetchTimeoutMillis))
                 .onErrorResume(throwable -> {
                     log.error("Error retrieving employees: {}", throwable.getMessage());
                     return Mono.just(new EmployeeListResponse("failure", Collections.emptyList()));
                 });
 
-        EmployeeListResponse response = processApiResponse(responseMono, "Failed to fetch employees.");
-
-        return response.getData();
+        return processApiResponse(responseMono, "Failed to fetch employees.");
     }
 
     @Override
@@ -140,6 +285,8 @@ public class EmployeeServiceImpl implements EmployeeService {
                     .retrieve()
                     .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
                     })  // Specify the correct Map type
+                    .timeout(Duration.ofMillis(writeTimeoutMillis), Mono.error(() -> new ResponseStatusException(
+                            HttpStatus.GATEWAY_TIMEOUT, "Employee service did not answer in time")))
                     .block();
 
             // Extract the "status" from the response map
@@ -148,6 +295,18 @@ public class EmployeeServiceImpl implements EmployeeService {
             if (status == null || status.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Invalid response from server");
             }
+            if (!"success".equals(status)) {
+                // Upstream answered but did not store the employee, callers may retry
+                log.error("Employee service did not create {}: status {}", employeeInput.getEmployeeName(), status);
+                throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Employee service did not create the employee");
+            }
+            Employee created = createdEmployee(employeeInput, response.get("data"));
+            if (created.getId() != null) {
+                applyLocally(EmployeeMutation.add(created));
+            } else {
+                invalidateSnapshot();
+            }
+            changeFeed.recordCreated(created);
 
             return status;
 
@@ -161,6 +320,9 @@ public class EmployeeServiceImpl implements EmployeeService {
             log.error("WebClient error: {}", e.getMessage(), e);
             throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Unable to connect to the employee service", e);
 
+        } catch (ResponseStatusException e) {
+            throw e;
+
         } catch (Exception e) {
             // Catch any other exceptions (like JSON parsing or null pointer issues)
             log.error("Unexpected error occurred while creating employee: {}", e.getMessage(), e);
@@ -168,6 +330,20 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
     }
 
+    // The create endpoint echoes the stored record with its new id under "data"
+    private static Employee createdEmployee(Employee input, Object data) {
+        Employee created = new Employee(null, input.getEmployeeName(), input.getEmployeeSalary(), input.getEmployeeAge(),
+                input.getProfileImage());
+        if (data instanceof Map) {
+            Map<?, ?> fields = (Map<?, ?>) data;
+            Optional.ofNullable(fields.get("id")).ifPresent(id -> created.setId(String.valueOf(id)));
+            Optional.ofNullable(fields.get("name")).ifPresent(name -> created.setEmployeeName(String.valueOf(name)));
+            Optional.ofNullable(fields.get("salary")).ifPresent(salary -> created.setEmployeeSalary(String.valueOf(salary)));
+            Optional.ofNullable(fields.get("age")).ifPresent(age -> created.setEmployeeAge(String.valueOf(age)));
+        }
+        return created;
+    }
+
     @Override
     public String deleteEmployeeById(String id) {
         log.debug("Deleting employee with ID: {}", id);
@@ -183,6 +359,8 @@ public class EmployeeServiceImpl implements EmployeeService {
                 .bodyToMono(Void.class);
 
         processApiResponse(responseMono, "Failed to delete employee with id: " + id);
+        applyLocally(EmployeeMutation.remove(id));
+        changeFeed.recordDeleted(id);
         log.info("Successfully deleted employee with id: {}", id);
         return employee.getEmployeeName();
     }
@@ -222,4 +400,53 @@ public class EmployeeServiceImpl implements EmployeeService {
                 .map(Employee::getEmployeeName)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public EmployeeSummary getEmployeeSummary(Set<SummaryComponent> components, int topN, String searchString) {
+        log.debug("Computing employee summary for {}", components);
+        EmployeeSnapshot current = getSnapshot();
+        List<Employee> employees = current.getEmployees();
+        int[] salaries = current.getSalaries();
+
+        boolean wantHighest = components.contains(SummaryComponent.HIGHEST_SALARY);
+        boolean wantTop = components.contains(SummaryComponent.TOP_EARNER_NAMES);
+        boolean wantSearch = components.contains(SummaryComponent.SEARCH_HITS) && searchString != null;
+        String needle = wantSearch ? searchString.toLowerCase() : null;
+
+        // One fused traversal of the snapshot for every requested component
+        int highestSalary = 0;
+        TopSalarySelector topEarners = wantTop ? new TopSalarySelector(topN) : null;
+        List<Employee> searchHits = wantSearch ? new ArrayList<>() : null;
+        for (int i = 0; i < salaries.length; i++) {
+            int salary = salaries[i];
+            if (wantHighest && salary > highestSalary) {
+                highestSalary = salary;
+            }
+            if (wantTop && salary >= 0) {
+                topEarners.offer(i, salary);
+            }
+            if (wantSearch) {
+                String name = employees.get(i).getEmployeeName();
+                if (name != null && name.toLowerCase().contains(needle)) {
+                    searchHits.add(employees.get(i));
+                }
+            }
+        }
+
+        List<String> topEarnerNames = null;
+        if (wantTop) {
+            int[] indexes = topEarners.toSortedIndexes();
+            topEarnerNames = new ArrayList<>(indexes.length);
+            for (int index : indexes) {
+                topEarnerNames.add(employees.get(index).getEmployeeName());
+            }
+        }
+
+        return new EmployeeSummary(
+                current.getVersion(),
+                components.contains(SummaryComponent.COUNT) ? employees.size() : null,
+                wantHighest ? highestSalary : null,
+                topEarnerNames,
+                searchHits);
+    }
 }
@@ -0,0 +1,143 @@
+package com.example.rqchallenge.service.Impl;
+
+import com.example.rqchallenge.analytics.SalaryStatsAccumulator;
+import com.example.rqchallenge.analytics.SalaryStatsTask;
+import com.example.rqchallenge.model.AgeBandStatistics;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import com.example.rqchallenge.model.SalaryHistogramBucket;
+import com.example.rqchallenge.model.SalaryStatistics;
+import com.example.rqchallenge.service.EmployeeService;
+import com.example.rqchallenge.search.RangeIndex;
+import com.example.rqchallenge.service.SalaryAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SalaryAnalyticsServiceImpl implements SalaryAnalyticsService {
+
+    @Autowired
+    private final EmployeeService employeeService;
+
+    // Below this many employees the fork-join overhead outweighs the parallel speed-up
+    @Value("${employee.analytics.parallel-threshold:10000}")
+    private int parallelThreshold = 10000;
+
+    // Up to this many employees percentiles are computed exactly, above it they come from the sketch
+    @Value("${employee.analytics.exact-quantile-limit:100000}")
+    private int exactQuantileLimit = 100000;
+
+    @Value("${employee.analytics.sketch-relative-accuracy:0.01}")
+    private double sketchRelativeAccuracy = 0.01;
+
+    @Override
+    public SalaryStatistics getSalaryStatistics(List<Double> percentiles, int bucketSize, int ageBandWidth) {
+        log.debug("Computing salary statistics with bucket size {} and age band width {}", bucketSize, ageBandWidth);
+        if (bucketSize < 1 || ageBandWidth < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Bucket size and age band width must be positive");
+        }
+        for (Double percentile : percentiles) {
+            if (percentile == null || percentile < 0 || percentile > 100) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Percentiles must be between 0 and 100");
+            }
+        }
+
+        EmployeeSnapshot snapshot = employeeService.getSnapshot();
+        // Exact percentiles read the sorted salary column cached with the snapshot, so the sketch is
+        // only built when the snapshot is too large for them
+        boolean exact = snapshot.getSalaries().length <= exactQuantileLimit;
+        SalaryStatsAccumulator accumulator = aggregate(snapshot.getSalaries(), snapshot.getAges(), bucketSize, ageBandWidth, !exact);
+
+        if (accumulator.getCount() == 0) {
+            return new SalaryStatistics(0, 0, 0, 0, 0, true, new LinkedHashMap<>(), new ArrayList<>(), new ArrayList<>());
+        }
+
+        RangeIndex.SortedColumn sorted = exact ? snapshot.getIndex(RangeIndex.class, RangeIndex::build).salaries() : null;
+        Map<String, Integer> percentileValues = new LinkedHashMap<>();
+        for (Double percentile : percentiles) {
+            percentileValues.put("p" + formatPercentile(percentile), quantile(accumulator, sorted, percentile / 100));
+        }
+
+        return new SalaryStatistics(
+                accumulator.getCount(),
+                accumulator.getMin(),
+                accumulator.getMax(),
+                (double) accumulator.getSum() / accumulator.getCount(),
+                quantile(accumulator, sorted, 0.5),
+                exact,
+                percentileValues,
+                histogram(accumulator),
+                ageBands(accumulator));
+    }
+
+    private SalaryStatsAccumulator aggregate(int[] salaries, int[] ages, int bucketSize, int ageBandWidth, boolean withSketch) {
+        Supplier<SalaryStatsAccumulator> accumulatorFactory = withSketch
+                ? () -> new SalaryStatsAccumulator(bucketSize, ageBandWidth, sketchRelativeAccuracy)
+                : () -> new SalaryStatsAccumulator(bucketSize, ageBandWidth);
+        if (salaries.length < parallelThreshold) {
+            SalaryStatsAccumulator accumulator = accumulatorFactory.get();
+            accumulator.acceptRange(salaries, ages, 0, salaries.length);
+            return accumulator;
+        }
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        // A few leaves per worker keeps them busy without drowning in merge work
+        int leafSize = Math.max(1024, salaries.length / (pool.getParallelism() * 4));
+        log.debug("Aggregating {} salaries in parallel with leaf size {}", salaries.length, leafSize);
+        return pool.invoke(new SalaryStatsTask(salaries, ages, 0, salaries.length, leafSize, accumulatorFactory));
+    }
+
+    // Nearest-rank percentile on the sorted salaries, or the sketch estimate when they are not available
+    private static int quantile(SalaryStatsAccumulator accumulator, RangeIndex.SortedColumn sorted, double quantile) {
+        if (sorted == null) {
+            return accumulator.getSketch().quantile(quantile);
+        }
+        int rank = (int) Math.ceil(quantile * sorted.size());
+        return sorted.valueAt(Math.max(0, rank - 1));
+    }
+
+    private static List<SalaryHistogramBucket> histogram(SalaryStatsAccumulator accumulator) {
+        long[] counts = accumulator.getHistogram();
+        long bucketSize = accumulator.getBucketSize();
+        int last = Math.min(accumulator.getMax() / accumulator.getBucketSize(), SalaryStatsAccumulator.MAX_BUCKETS - 1);
+        List<SalaryHistogramBucket> buckets = new ArrayList<>(last + 1);
+        for (int i = 0; i <= last; i++) {
+            // The capped last bucket stretches up to the highest salary
+            long to = i == last ? Math.max((i + 1) * bucketSize, accumulator.getMax() + 1L) : (i + 1) * bucketSize;
+            buckets.add(new SalaryHistogramBucket(i * bucketSize, to, counts[i]));
+        }
+        return buckets;
+    }
+
+    private static List<AgeBandStatistics> ageBands(SalaryStatsAccumulator accumulator) {
+        long[] counts = accumulator.getBandCounts();
+        List<AgeBandStatistics> bands = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            int width = accumulator.getAgeBandWidth();
+            int to = i == SalaryStatsAccumulator.MAX_BUCKETS - 1 ? Integer.MAX_VALUE : (i + 1) * width;
+            bands.add(new AgeBandStatistics(i * width, to, counts[i],
+                    accumulator.getBandMins()[i], accumulator.getBandMaxs()[i],
+                    (double) accumulator.getBandSums()[i] / counts[i]));
+        }
+        return bands;
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
@@ -0,0 +1,347 @@
+package com.example.rqchallenge.service.Impl;
+
+import com.example.rqchallenge.exceptions.EmployeeNotFoundException;
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.WriteState;
+import com.example.rqchallenge.model.WriteStatus;
+import com.example.rqchallenge.service.EmployeeService;
+import com.example.rqchallenge.service.WriteBehindService;
+import com.example.rqchallenge.writebehind.CreateJournal;
+import com.example.rqchallenge.writebehind.JournalRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Asynchronous createEmployee: employees are journaled durably and acknowledged right away, then
+ * flushed to the upstream create endpoint in journal order by a scheduled batch. An entry that fails
+ * is retried with backoff and blocks the entries behind it, so upstream sees creates in the order
+ * they were accepted. Unflushed entries are replayed from the journal on startup.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class WriteBehindServiceImpl implements WriteBehindService {
+
+    @Autowired
+    private final EmployeeService employeeService;
+
+    @Autowired
+    private final ObjectMapper objectMapper;
+
+    @Value("${employee.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${employee.write-behind.journal-path:data/create-journal.log}")
+    private String journalPath = "data/create-journal.log";
+
+    @Value("${employee.write-behind.batch-size:50}")
+    private int batchSize = 50;
+
+    @Value("${employee.write-behind.max-attempts:10}")
+    private int maxAttempts = 10;
+
+    @Value("${employee.write-behind.retry-backoff-ms:1000}")
+    private long retryBackoffMillis = 1000;
+
+    // Completed statuses kept for lookups, oldest are dropped first
+    @Value("${employee.write-behind.status-retention:10000}")
+    private int statusRetention = 10000;
+
+    // The journal is compacted once it grows past this size, or twice its size after the last compaction
+    @Value("${employee.write-behind.compact-threshold-bytes:67108864}")
+    private long compactThresholdBytes = 67108864;
+
+    private long compactAtBytes;  // only touched by the flusher and on startup
+
+    private final Map<String, PendingCreate> pending = new LinkedHashMap<>();
+
+    private final Map<String, WriteStatus> completed = new LinkedHashMap<>();
+
+    private final Object flushLock = new Object();
+
+    private CreateJournal journal;
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        journal = new CreateJournal(Paths.get(journalPath), objectMapper);
+        List<JournalRecord> records = journal.replay();
+        for (JournalRecord record : records) {
+            if (record.getState() == WriteState.PENDING) {
+                pending.put(record.getTrackingId(), PendingCreate.replayed(new WriteStatus(record.getTrackingId(),
+                        WriteState.PENDING, record.getEmployee(), 0, record.getTimestamp(), null, null)));
+            } else {
+                PendingCreate entry = pending.remove(record.getTrackingId());
+                if (entry != null) {
+                    complete(entry.status, record.getState(), record.getTimestamp(), record.getError());
+                }
+            }
+        }
+        journal.rewriteAndOpen(retainedRecords());
+        compactAtBytes = nextCompactionAt();
+        log.info("Write-behind journal {} opened, {} unflushed creates replayed", journalPath, pending.size());
+    }
+
+    // Compacted journal: unflushed entries plus the retained completed ones. Callers hold the pending lock
+    // or have not published the service yet.
+    private List<JournalRecord> retainedRecords() {
+        List<JournalRecord> retained = new ArrayList<>();
+        for (WriteStatus status : completed.values()) {
+            retained.add(new JournalRecord(status.getTrackingId(), WriteState.PENDING, status.getEmployee(), status.getAcceptedAt(), null));
+            retained.add(new JournalRecord(status.getTrackingId(), status.getState(), null, status.getCompletedAt(), status.getLastError()));
+        }
+        for (PendingCreate entry : pending.values()) {
+            retained.add(new JournalRecord(entry.status.getTrackingId(), WriteState.PENDING, entry.status.getEmployee(),
+                    entry.status.getAcceptedAt(), null));
+        }
+        return retained;
+    }
+
+    private long nextCompactionAt() {
+        return Math.max(compactThresholdBytes, 2 * journal.size());
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Override
+    public WriteStatus submitCreate(Employee employee) {
+        if (!enabled) {
+            throw new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED, "Asynchronous create is not enabled");
+        }
+        validate(employee);
+        String trackingId = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+        WriteStatus status = new WriteStatus(trackingId, WriteState.PENDING, employee, 0, now, null, null);
+        PendingCreate entry = new PendingCreate(status);
+        long position = -1;
+        try {
+            // Appending and queueing under one lock keeps the flush order identical to the journal order
+            synchronized (pending) {
+                position = journal.append(new JournalRecord(trackingId, WriteState.PENDING, employee, now, null));
+                pending.put(trackingId, entry);
+            }
+            journal.sync(position);
+            entry.durable = true;
+        } catch (IOException e) {
+            synchronized (pending) {
+                pending.remove(trackingId);
+            }
+            if (position >= 0) {
+                abort(trackingId, e.getMessage());
+            }
+            log.error("Failed to journal create for {}: {}", employee.getEmployeeName(), e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Unable to accept employee for asynchronous create", e);
+        }
+        log.info("Accepted asynchronous create for {} with tracking id {}", employee.getEmployeeName(), trackingId);
+        return copyOf(status);
+    }
+
+    // The PENDING record is in the journal but the client was told the create was not accepted,
+    // close it so a restart does not flush it after all
+    private void abort(String trackingId, String error) {
+        try {
+            long position;
+            synchronized (pending) {
+                position = journal.append(new JournalRecord(trackingId, WriteState.FAILED, null,
+                        System.currentTimeMillis(), "Not accepted, journal write failed: " + error));
+            }
+            journal.sync(position);
+        } catch (IOException e) {
+            log.error("Failed to journal abort of {}, it may be flushed after a restart: {}", trackingId, e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public WriteStatus getStatus(String trackingId) {
+        synchronized (pending) {
+            PendingCreate entry = pending.get(trackingId);
+            if (entry != null) {
+                return copyOf(entry.status);
+            }
+            WriteStatus status = completed.get(trackingId);
+            if (status != null) {
+                return copyOf(status);
+            }
+        }
+        throw new EmployeeNotFoundException("No asynchronous create with tracking id " + trackingId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${employee.write-behind.flush-interval-ms:1000}")
+    public void flushPending() {
+        if (!enabled) {
+            return;
+        }
+        // A single flusher at a time keeps upstream creates in journal order
+        synchronized (flushLock) {
+            flushBatch();
+            compactJournalIfNeeded();
+        }
+    }
+
+    private void flushBatch() {
+        for (int flushed = 0; flushed < batchSize; flushed++) {
+            PendingCreate next;
+            synchronized (pending) {
+                Iterator<PendingCreate> iterator = pending.values().iterator();
+                next = iterator.hasNext() ? iterator.next() : null;
+            }
+            if (next == null || !next.durable || next.nextAttemptAt > System.currentTimeMillis()) {
+                return;
+            }
+            if (!flush(next)) {
+                return;
+            }
+        }
+    }
+
+    // Every create leaves two records behind, without this the journal only shrinks on restart
+    private void compactJournalIfNeeded() {
+        if (journal.size() < compactAtBytes) {
+            return;
+        }
+        long before = journal.size();
+        try {
+            // Holding the pending lock keeps submits and aborts from appending to the file being replaced
+            synchronized (pending) {
+                journal.rewriteAndOpen(retainedRecords());
+            }
+            compactAtBytes = nextCompactionAt();
+            log.info("Compacted write-behind journal {} from {} to {} bytes", journalPath, before, journal.size());
+        } catch (IOException e) {
+            // The old file is still in place, try again once it has grown some more
+            compactAtBytes = before + compactThresholdBytes;
+            log.error("Failed to compact write-behind journal {}: {}", journalPath, e.getMessage(), e);
+        }
+    }
+
+    // Returns whether the flusher may move on to the next entry
+    private boolean flush(PendingCreate entry) {
+        WriteStatus status = entry.status;
+        synchronized (pending) {
+            status.setAttempts(status.getAttempts() + 1);
+        }
+        try {
+            employeeService.createEmployee(status.getEmployee());
+        } catch (ResponseStatusException e) {
+            if (e.getStatus().is4xxClientError() && e.getStatus() != HttpStatus.TOO_MANY_REQUESTS) {
+                // Upstream will never accept this record, retrying would only hold up the rest
+                finish(entry, WriteState.FAILED, e.getReason());
+                return true;
+            }
+            return retryLater(entry, e.getReason());
+        } catch (RuntimeException e) {
+            return retryLater(entry, e.getMessage());
+        }
+        // Outside the try: upstream has the employee now, a journal problem must not trigger another POST
+        finish(entry, WriteState.FLUSHED, null);
+        return true;
+    }
+
+    private boolean retryLater(PendingCreate entry, String error) {
+        WriteStatus status = entry.status;
+        if (status.getAttempts() >= maxAttempts) {
+            finish(entry, WriteState.FAILED, error);
+            return true;
+        }
+        long backoff = retryBackoffMillis << Math.min(status.getAttempts() - 1, 10);
+        entry.nextAttemptAt = System.currentTimeMillis() + backoff;
+        synchronized (pending) {
+            status.setLastError(error);
+        }
+        log.warn("Create {} failed (attempt {}), retrying in {} ms: {}", status.getTrackingId(), status.getAttempts(), backoff, error);
+        return false;
+    }
+
+    private void finish(PendingCreate entry, WriteState state, String error) {
+        long now = System.currentTimeMillis();
+        try {
+            // Not forced: losing this record only means the entry is flushed once more after a crash
+            journal.append(new JournalRecord(entry.status.getTrackingId(), state, null, now, error));
+        } catch (IOException e) {
+            // Same outcome as a crash before the record is written, the entry is done in memory
+            log.error("Failed to journal completion of {}, it is replayed after a restart: {}",
+                    entry.status.getTrackingId(), e.getMessage(), e);
+        }
+        synchronized (pending) {
+            pending.remove(entry.status.getTrackingId());
+            complete(entry.status, state, now, error);
+        }
+        log.info("Asynchronous create {} {}", entry.status.getTrackingId(), state);
+    }
+
+    private void complete(WriteStatus status, WriteState state, long completedAt, String error) {
+        status.setState(state);
+        status.setCompletedAt(completedAt);
+        status.setLastError(error);
+        completed.put(status.getTrackingId(), status);
+        Iterator<String> oldest = completed.keySet().iterator();
+        while (completed.size() > statusRetention && oldest.hasNext()) {
+            oldest.next();
+            oldest.remove();
+        }
+    }
+
+    private static void validate(Employee employee) {
+        if (employee.getEmployeeName() == null || employee.getEmployeeName().trim().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Employee name is required");
+        }
+        if (!isNumber(employee.getEmployeeSalary()) || !isNumber(employee.getEmployeeAge())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Employee salary and age must be numbers");
+        }
+    }
+
+    private static boolean isNumber(String value) {
+        return value != null && value.matches("\\d+");
+    }
+
+    private static WriteStatus copyOf(WriteStatus status) {
+        return new WriteStatus(status.getTrackingId(), status.getState(), status.getEmployee(), status.getAttempts(),
+                status.getAcceptedAt(), status.getCompletedAt(), status.getLastError());
+    }
+
+    private static final class PendingCreate {
+
+        private final WriteStatus status;
+
+        private long nextAttemptAt;  // only touched by the flusher
+
+        // Not flushed before the client could have been acknowledged
+        private volatile boolean durable;
+
+        private PendingCreate(WriteStatus status) {
+            this.status = status;
+        }
+
+        private static PendingCreate replayed(WriteStatus status) {
+            PendingCreate entry = new PendingCreate(status);
+            entry.durable = true;
+            return entry;
+        }
+    }
+}
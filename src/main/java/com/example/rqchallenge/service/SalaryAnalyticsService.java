@@ -0,0 +1,11 @@
+package com.example.rqchallenge.service;
+
+import com.example.rqchallenge.model.SalaryStatistics;
+
+import java.util.List;
+
+public interface SalaryAnalyticsService {
+
+    SalaryStatistics getSalaryStatistics(List<Double> percentiles, int bucketSize, int ageBandWidth);
+
+}
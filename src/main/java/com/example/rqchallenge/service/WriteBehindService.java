@@ -0,0 +1,14 @@
+package com.example.rqchallenge.service;
+
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.WriteStatus;
+
+public interface WriteBehindService {
+
+    WriteStatus submitCreate(Employee employee);
+
+    WriteStatus getStatus(String trackingId);
+
+    void flushPending();
+
+}
@@ -0,0 +1,38 @@
+package com.example.rqchallenge.store;
+
+import com.example.rqchallenge.model.Employee;
+
+/**
+ * A single local change to the employee store: add an employee, or remove every employee with an id.
+ */
+public final class EmployeeMutation {
+
+    private final Employee added;
+
+    private final String removedId;
+
+    private EmployeeMutation(Employee added, String removedId) {
+        this.added = added;
+        this.removedId = removedId;
+    }
+
+    public static EmployeeMutation add(Employee employee) {
+        return new EmployeeMutation(employee, null);
+    }
+
+    public static EmployeeMutation remove(String id) {
+        return new EmployeeMutation(null, id);
+    }
+
+    public boolean isAdd() {
+        return added != null;
+    }
+
+    public Employee getAdded() {
+        return added;
+    }
+
+    public String getRemovedId() {
+        return removedId;
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.rqchallenge.store;
+
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-process employee store. Readers get the current immutable snapshot with a single volatile read, so
+ * they never wait and always see one version together with the data it was assigned to.
+ * <p>
+ * Writers never touch a published snapshot. Local mutations are queued without locking and whoever holds
+ * the write lock next applies every queued mutation as one batch, in queue order, and publishes a single
+ * new version, so a burst of concurrent creates and deletes costs one copy instead of one per write.
+ * Whole-snapshot updates from upstream go through the same lock, which keeps versions strictly increasing.
+ * Recent local batches are logged so a refresh can replay the ones published while its fetch was in flight.
+ */
+@Slf4j
+@Component
+public class EmployeeStore {
+
+    // Enough for every write during one upstream fetch, older batches are only kept until a refresh replaces them
+    private static final int MAX_LOGGED_BATCHES = 10_000;
+
+    private final AtomicReference<EmployeeSnapshot> current = new AtomicReference<>(EmployeeSnapshot.EMPTY);
+
+    private final ConcurrentLinkedQueue<PendingMutation> queue = new ConcurrentLinkedQueue<>();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final List<Consumer<EmployeeSnapshot>> updateListeners = new CopyOnWriteArrayList<>();
+
+    // Guarded by writeLock
+    private final ArrayDeque<LocalBatch> localBatches = new ArrayDeque<>();
+    private long droppedThroughVersion;
+
+    public EmployeeSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Replaces the snapshot with the result of the update, applied to the latest snapshot under the write lock.
+     */
+    public EmployeeSnapshot update(UnaryOperator<EmployeeSnapshot> update) {
+        EmployeeSnapshot previous;
+        EmployeeSnapshot next;
+        writeLock.lock();
+        try {
+            previous = current.get();
+            next = update.apply(previous);
+            current.set(next);
+        } finally {
+            writeLock.unlock();
+        }
+        if (next.getVersion() != previous.getVersion()) {
+            for (Consumer<EmployeeSnapshot> listener : updateListeners) {
+                listener.accept(next);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Reapplies the local batches published after baseVersion to a snapshot built from data fetched while they
+     * were in flight: removed ids are dropped again and added employees appended unless the data already has them.
+     * Only valid inside {@link #update}, the batches are dropped afterwards as later fetches start from newer data.
+     */
+    public EmployeeSnapshot replayLocalChanges(EmployeeSnapshot fetched, long baseVersion) {
+        if (!writeLock.isHeldByCurrentThread()) {
+            throw new IllegalStateException("Local changes can only be replayed inside an update");
+        }
+        if (droppedThroughVersion > baseVersion) {
+            log.warn("Local changes up to version {} were dropped before the refresh from version {} completed",
+                    droppedThroughVersion, baseVersion);
+        }
+        Set<String> removedIds = new HashSet<>();
+        Map<String, Employee> added = new LinkedHashMap<>();
+        for (LocalBatch batch : localBatches) {
+            if (batch.version <= baseVersion) {
+                continue;
+            }
+            for (String id : batch.removedIds) {
+                if (added.remove(id) == null) {
+                    removedIds.add(id);
+                }
+            }
+            for (Employee employee : batch.added) {
+                added.put(employee.getId(), employee);
+            }
+        }
+        localBatches.clear();
+        if (!added.isEmpty()) {
+            for (Employee employee : fetched.getEmployees()) {
+                if (!removedIds.contains(employee.getId())) {
+                    added.remove(employee.getId());
+                }
+            }
+        }
+        return fetched.withChanges(removedIds, new ArrayList<>(added.values()));
+    }
+
+    /**
+     * Registers a listener for new versions published by {@link #update}, called on the updating thread after
+     * the write lock is released. Local mutations don't notify, their snapshots carry incremental indexes over.
+     */
+    public void addUpdateListener(Consumer<EmployeeSnapshot> listener) {
+        updateListeners.add(listener);
+    }
+
+    /**
+     * Applies the mutation, possibly batched with concurrent ones, and returns once it is visible to readers.
+     *
+     * @return false when there is no snapshot to apply it to yet or a removed id was not present
+     */
+    public boolean apply(EmployeeMutation mutation) {
+        PendingMutation pending = new PendingMutation(mutation);
+        queue.add(pending);
+        writeLock.lock();
+        try {
+            // The holder before us may already have applied ours as part of its batch
+            if (!pending.done) {
+                applyQueued();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return pending.applied;
+    }
+
+    private void applyQueued() {
+        EmployeeSnapshot snapshot = current.get();
+        List<PendingMutation> batch = new ArrayList<>();
+        Set<String> presentIds = null;  // only collected when the batch removes something
+
+        Set<String> removedIds = new HashSet<>();
+        List<Employee> added = new ArrayList<>();
+        PendingMutation pending;
+        while ((pending = queue.poll()) != null) {
+            batch.add(pending);
+            EmployeeMutation mutation = pending.mutation;
+            if (snapshot.getVersion() == 0) {
+                // Nothing fetched yet, a partial list must not become the baseline
+                continue;
+            }
+            if (mutation.isAdd()) {
+                added.add(mutation.getAdded());
+                if (presentIds != null) {
+                    presentIds.add(mutation.getAdded().getId());
+                }
+                pending.applied = true;
+                continue;
+            }
+            if (presentIds == null) {
+                presentIds = new HashSet<>();
+                for (Employee employee : snapshot.getEmployees()) {
+                    presentIds.add(employee.getId());
+                }
+                for (Employee employee : added) {
+                    presentIds.add(employee.getId());
+                }
+            }
+            if (presentIds.remove(mutation.getRemovedId())) {
+                // Drop it whether it was in the snapshot or added earlier in this batch
+                removedIds.add(mutation.getRemovedId());
+                added.removeIf(employee -> mutation.getRemovedId().equals(employee.getId()));
+                pending.applied = true;
+            }
+        }
+
+        EmployeeSnapshot next = snapshot.withChanges(removedIds, added);
+        current.set(next);
+        if (next != snapshot) {
+            localBatches.addLast(new LocalBatch(next.getVersion(), removedIds, added));
+            if (localBatches.size() > MAX_LOGGED_BATCHES) {
+                droppedThroughVersion = localBatches.removeFirst().version;
+            }
+        }
+        for (PendingMutation applied : batch) {
+            applied.done = true;
+        }
+        if (next != snapshot) {
+            log.debug("Applied {} mutations locally, employee snapshot advanced to version {}", batch.size(), next.getVersion());
+        }
+    }
+
+    private static final class LocalBatch {
+
+        private final long version;
+        private final Set<String> removedIds;
+        private final List<Employee> added;
+
+        private LocalBatch(long version, Set<String> removedIds, List<Employee> added) {
+            this.version = version;
+            this.removedIds = removedIds;
+            this.added = added;
+        }
+    }
+
+    private static final class PendingMutation {
+
+        private final EmployeeMutation mutation;
+
+        // Written by the batch owner before it releases the write lock, read by the submitter after acquiring it
+        private boolean applied;
+        private boolean done;
+
+        private PendingMutation(EmployeeMutation mutation) {
+            this.mutation = mutation;
+        }
+    }
+}
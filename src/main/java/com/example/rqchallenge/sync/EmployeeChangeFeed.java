@@ -0,0 +1,339 @@
+package com.example.rqchallenge.sync;
+
+import com.example.rqchallenge.model.ChangeType;
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeChangeEvent;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ordered log of employee changes. Upstream snapshots are diffed against the last known state using
+ * per-record hashes, local creates and deletes are folded into the same state, and every resulting
+ * event is buffered for resuming clients and pushed to the live SSE subscribers.
+ * <p>
+ * Events are queued per subscriber under the feed's lock and sent from a delivery thread, so a slow
+ * client never holds up writers or the sync engine. A subscriber that falls more than the buffer size
+ * behind is disconnected and can resume from the buffer with Last-Event-ID.
+ * <p>
+ * SSE ids are the event sequence prefixed with an epoch drawn at startup. Sequences restart on every
+ * boot and differ between instances, so an id from another epoch is answered with a RESYNC.
+ */
+@Slf4j
+@Component
+public class EmployeeChangeFeed {
+
+    static final String SOURCE_UPSTREAM = "upstream";
+    static final String SOURCE_LOCAL = "local";
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int bufferSize;
+
+    private final ArrayDeque<EmployeeChangeEvent> buffer = new ArrayDeque<>();
+
+    private final List<Subscriber> subscribers = new ArrayList<>();
+
+    private final Executor deliveryExecutor;
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    // Record hash per employee id for the state the feed currently reflects
+    private final Map<String, Long> recordHashes = new HashMap<>();
+
+    private long lastEventId;
+
+    private long lastSnapshotVersion = -1;
+
+    @Autowired
+    public EmployeeChangeFeed(@Value("${employee.sync.buffer-size:10000}") int bufferSize) {
+        // One thread per subscriber that is being written to, idle threads go away after a minute
+        this(bufferSize, Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-delivery");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    EmployeeChangeFeed(int bufferSize, Executor deliveryExecutor) {
+        this.bufferSize = bufferSize;
+        this.deliveryExecutor = deliveryExecutor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (deliveryExecutor instanceof ExecutorService) {
+            ((ExecutorService) deliveryExecutor).shutdownNow();
+        }
+    }
+
+    /**
+     * Diffs the snapshot against the current state. The first snapshot only establishes the baseline,
+     * clients are expected to load the full list once and then follow the feed.
+     */
+    public synchronized void applySnapshot(EmployeeSnapshot snapshot) {
+        // Version 0 means nothing has been loaded from upstream yet
+        if (snapshot.getVersion() == 0 || snapshot.getVersion() == lastSnapshotVersion) {
+            return;
+        }
+        boolean baseline = lastSnapshotVersion < 0;
+        lastSnapshotVersion = snapshot.getVersion();
+
+        Set<String> seen = new HashSet<>();
+        int changes = 0;
+        for (Employee employee : snapshot.getEmployees()) {
+            if (employee.getId() == null || !seen.add(employee.getId())) {
+                continue;
+            }
+            long hash = recordHash(employee);
+            Long previous = recordHashes.put(employee.getId(), hash);
+            if (baseline) {
+                continue;
+            }
+            if (previous == null) {
+                append(ChangeType.ADDED, employee.getId(), employee, SOURCE_UPSTREAM);
+                changes++;
+            } else if (previous != hash) {
+                append(ChangeType.UPDATED, employee.getId(), employee, SOURCE_UPSTREAM);
+                changes++;
+            }
+        }
+        List<String> removed = new ArrayList<>();
+        for (String id : recordHashes.keySet()) {
+            if (!seen.contains(id)) {
+                removed.add(id);
+            }
+        }
+        for (String id : removed) {
+            recordHashes.remove(id);
+            if (!baseline) {
+                append(ChangeType.REMOVED, id, null, SOURCE_UPSTREAM);
+                changes++;
+            }
+        }
+        log.info("Applied snapshot version {} to change feed: {} changes", snapshot.getVersion(), changes);
+    }
+
+    public synchronized void recordCreated(Employee employee) {
+        if (employee.getId() == null) {
+            log.warn("Created employee {} has no id, not added to the change feed", employee.getEmployeeName());
+            return;
+        }
+        Long previous = recordHashes.put(employee.getId(), recordHash(employee));
+        append(previous == null ? ChangeType.ADDED : ChangeType.UPDATED, employee.getId(), employee, SOURCE_LOCAL);
+    }
+
+    public synchronized void recordDeleted(String id) {
+        if (recordHashes.remove(id) != null || lastSnapshotVersion < 0) {
+            append(ChangeType.REMOVED, id, null, SOURCE_LOCAL);
+        }
+    }
+
+    /**
+     * Registers a subscriber, first queueing everything after lastEventId so no event is missed or
+     * delivered twice between the replay and the live stream.
+     */
+    public synchronized void subscribe(SseEmitter emitter, String lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter);
+        if (lastEventId != null) {
+            for (EmployeeChangeEvent event : eventsAfter(lastEventId)) {
+                subscriber.offer(event);
+            }
+        }
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+    }
+
+    public synchronized boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    /**
+     * @param lastEventId SSE id of the last event the client received
+     * @return buffered events after it, or a single RESYNC event when the id comes from another epoch,
+     * is malformed or some of the events were already evicted
+     */
+    public synchronized List<EmployeeChangeEvent> eventsAfter(String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator > 0 && epoch.equals(lastEventId.substring(0, separator))) {
+            try {
+                return eventsAfter(Long.parseLong(lastEventId.substring(separator + 1)));
+            } catch (NumberFormatException e) {
+                log.debug("Malformed Last-Event-ID {}", lastEventId);
+            }
+        }
+        // RESYNC carries the latest sequence, the client resumes from there after reloading the full list
+        List<EmployeeChangeEvent> events = new ArrayList<>();
+        events.add(new EmployeeChangeEvent(lastEventId, ChangeType.RESYNC, null, null, null));
+        return events;
+    }
+
+    /**
+     * @return buffered events after the given sequence of this epoch, or a single RESYNC event when some
+     * of them were already evicted or the sequence was never issued
+     */
+    public synchronized List<EmployeeChangeEvent> eventsAfter(long eventId) {
+        List<EmployeeChangeEvent> events = new ArrayList<>();
+        EmployeeChangeEvent oldest = buffer.peekFirst();
+        boolean evicted = eventId < lastEventId && (oldest == null || oldest.getEventId() > eventId + 1);
+        if (evicted || eventId > lastEventId) {
+            events.add(new EmployeeChangeEvent(lastEventId, ChangeType.RESYNC, null, null, null));
+            return events;
+        }
+        for (EmployeeChangeEvent event : buffer) {
+            if (event.getEventId() > eventId) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    public synchronized long getLastEventId() {
+        return lastEventId;
+    }
+
+    /**
+     * @return SSE id of the given event sequence in this epoch
+     */
+    public String sseId(long eventId) {
+        return epoch + "-" + eventId;
+    }
+
+    private synchronized void unsubscribe(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    private void append(ChangeType type, String employeeId, Employee employee, String source) {
+        EmployeeChangeEvent event = new EmployeeChangeEvent(++lastEventId, type, employeeId, employee, source);
+        buffer.addLast(event);
+        if (buffer.size() > bufferSize) {
+            buffer.removeFirst();
+        }
+        for (Iterator<Subscriber> iterator = subscribers.iterator(); iterator.hasNext(); ) {
+            if (!iterator.next().offer(event)) {
+                log.debug("Dropping change feed subscriber more than {} events behind", bufferSize);
+                iterator.remove();
+            }
+        }
+    }
+
+    private void send(SseEmitter emitter, EmployeeChangeEvent event) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(sseId(event.getEventId()))
+                .name(event.getType().name().toLowerCase())
+                .data(event));
+    }
+
+    /**
+     * Pending events of one SSE client. Events are queued in feed order and drained by at most one
+     * delivery task at a time, so the client sees them in order.
+     */
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+
+        private final ConcurrentLinkedQueue<EmployeeChangeEvent> pending = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger backlog = new AtomicInteger();
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private volatile boolean overflowed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * @return false when the subscriber is too far behind and will be disconnected instead
+         */
+        boolean offer(EmployeeChangeEvent event) {
+            if (backlog.incrementAndGet() > bufferSize) {
+                overflowed = true;
+            } else {
+                pending.add(event);
+            }
+            schedule();
+            return !overflowed;
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                deliveryExecutor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                EmployeeChangeEvent event;
+                while (!overflowed && (event = pending.poll()) != null) {
+                    backlog.decrementAndGet();
+                    send(emitter, event);
+                }
+                if (overflowed) {
+                    // The client reconnects with Last-Event-ID and resumes from the buffer or gets a RESYNC
+                    emitter.complete();
+                    return;
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping change feed subscriber: {}", e.getMessage());
+                unsubscribe(this);
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            // An offer between the last poll and clearing the flag found the task still scheduled
+            if (!pending.isEmpty() || overflowed) {
+                schedule();
+            }
+        }
+    }
+
+    // 64-bit FNV-1a over the record fields, so an update is detected without keeping the old record around.
+    // Fields are normalized first: a local create has no profile image where upstream echoes "", and that
+    // must not show up as an update once the record comes back in a snapshot.
+    static long recordHash(Employee employee) {
+        long hash = FNV_OFFSET_BASIS;
+        for (String field : new String[]{employee.getId(), employee.getEmployeeName(), employee.getEmployeeSalary(),
+                employee.getEmployeeAge(), employee.getProfileImage()}) {
+            byte[] bytes = normalize(field).getBytes(StandardCharsets.UTF_8);
+            for (byte b : bytes) {
+                hash ^= b & 0xff;
+                hash *= FNV_PRIME;
+            }
+            hash ^= 0x1f;  // field separator so ("ab","c") and ("a","bc") differ
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static String normalize(String field) {
+        return field == null ? "" : field.trim();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.rqchallenge.sync;
+
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import com.example.rqchallenge.service.EmployeeService;
+import com.example.rqchallenge.store.EmployeeStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically refreshes the employee snapshot from upstream and feeds it to the change feed,
+ * which turns it into added/updated/removed events. Upstream is only polled while someone follows
+ * the feed; otherwise the engine just feeds whatever snapshot regular traffic last loaded, so an idle
+ * instance adds no load on the rate-limited upstream API.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "employee.sync.enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeSyncEngine {
+
+    private final EmployeeService employeeService;
+
+    private final EmployeeChangeFeed changeFeed;
+
+    private final EmployeeStore employeeStore;
+
+    @Scheduled(fixedDelayString = "${employee.sync.interval-ms:10000}", initialDelayString = "${employee.sync.initial-delay-ms:0}")
+    public void synchronize() {
+        try {
+            EmployeeSnapshot snapshot = changeFeed.hasSubscribers()
+                    ? employeeService.refreshSnapshot()
+                    : employeeStore.current();
+            changeFeed.applySnapshot(snapshot);
+        } catch (RuntimeException e) {
+            // Keep the schedule alive, the next run retries
+            log.error("Employee sync failed: {}", e.getMessage(), e);
+        }
+    }
+}
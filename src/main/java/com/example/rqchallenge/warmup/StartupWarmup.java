@@ -0,0 +1,211 @@
+package com.example.rqchallenge.warmup;
+
+import com.example.rqchallenge.constants.AppConstants;
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeApiResponse;
+import com.example.rqchallenge.model.EmployeeListResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exercises the Jackson and WebClient code paths for Employee and EmployeeListResponse before the
+ * application reports readiness, so the first requests after a scale-out don't pay for class loading,
+ * serializer construction and interpreted execution. Runs as an ApplicationRunner, which Boot calls
+ * after the context is refreshed and before it publishes ReadinessState.ACCEPTING_TRAFFIC.
+ * <p>
+ * The loop uses the application's own WebClient with its exchange function replaced by canned
+ * responses, so request building, filters, retrieve() and body decoding run without any network call.
+ * Before the loop the same calls go once through the real connector to a stub on the loopback
+ * interface, which starts Reactor Netty's event loops and connection pool and loads its HTTP codec and
+ * name resolution. The TLS handshake and DNS lookup of the real upstream still happen on first use.
+ */
+@Slf4j
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final TypeReference<List<Employee>> EMPLOYEE_LIST = new TypeReference<List<Employee>>() {
+    };
+
+    private static final String WARMUP_ID = "1";
+
+    private static final Duration CALL_TIMEOUT = Duration.ofSeconds(5);
+
+    private final List<ObjectMapper> objectMappers;
+
+    private final WebClient webClient;
+
+    private final WebClient connectorWebClient;
+
+    private final int iterations;
+
+    private final long maxDurationMillis;
+
+    private final EmployeeListResponse employees;
+
+    private final String employeesJson;
+
+    private final String employeeJson;
+
+    public StartupWarmup(List<ObjectMapper> objectMappers, WebClient webClient, ExchangeStrategies exchangeStrategies,
+                         int employeeCount, int iterations, long maxDurationMillis) {
+        if (objectMappers.isEmpty() || employeeCount < 1 || iterations < 1) {
+            throw new IllegalArgumentException("Warm-up needs an object mapper, at least one employee and one iteration");
+        }
+        this.objectMappers = objectMappers;
+        this.iterations = iterations;
+        this.maxDurationMillis = maxDurationMillis;
+        this.employees = new EmployeeListResponse("success", generateEmployees(employeeCount));
+        try {
+            ObjectMapper json = new ObjectMapper();
+            this.employeesJson = json.writeValueAsString(employees);
+            this.employeeJson = json.writeValueAsString(new EmployeeApiResponse("success", employees.getData().get(0)));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot encode warm-up payload", e);
+        }
+        this.webClient = webClient.mutate()
+                .exchangeFunction(request -> Mono.just(respond(request, exchangeStrategies)))
+                .build();
+        this.connectorWebClient = webClient;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        try {
+            warmUpConnector();
+            log.debug("Connector warm-up against a loopback stub finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+            int completed = warmUp();
+            log.info("Warm-up finished: {} iterations over {} object mappers in {} ms",
+                    completed, objectMappers.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            // Best effort, a failed warm-up only means slower first requests
+            log.warn("Warm-up failed after {} ms: {}", (System.nanoTime() - start) / 1_000_000, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs the warm-up loop until the configured iterations are done or the time budget is spent,
+     * whichever comes first. At least one iteration always runs.
+     *
+     * @return the number of completed iterations
+     */
+    public int warmUp() throws IOException {
+        long deadline = System.nanoTime() + maxDurationMillis * 1_000_000;
+        int completed = 0;
+        while (completed < iterations) {
+            roundTripObjectMappers();
+            callWebClient(webClient);
+            completed++;
+            if (System.nanoTime() - deadline > 0) {
+                break;
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * Makes each warm-up call once over the network to a short-lived HTTP stub on localhost, through the
+     * application's WebClient with only the base URL changed, so the connector and its resources are shared.
+     */
+    public void warmUpConnector() throws IOException {
+        HttpServer stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = (isListRequest(exchange.getRequestMethod(), exchange.getRequestURI().getPath())
+                    ? employeesJson
+                    : employeeJson).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(HttpStatus.OK.value(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stub.start();
+        try {
+            callWebClient(connectorWebClient.mutate()
+                    .baseUrl("http://localhost:" + stub.getAddress().getPort())
+                    .build());
+        } finally {
+            stub.stop(0);
+        }
+    }
+
+    private void roundTripObjectMappers() throws IOException {
+        int expected = employees.getData().size();
+        for (ObjectMapper mapper : objectMappers) {
+            EmployeeListResponse response = mapper.readValue(mapper.writeValueAsBytes(employees), EmployeeListResponse.class);
+            List<Employee> list = mapper.readValue(mapper.writeValueAsBytes(employees.getData()), EMPLOYEE_LIST);
+            if (response.getData().size() != expected || list.size() != expected) {
+                throw new IllegalStateException("Object mapper round trip lost employees");
+            }
+        }
+    }
+
+    private void callWebClient(WebClient webClient) {
+        EmployeeListResponse list = webClient.get()
+                .uri(AppConstants.GET_ALL_EMPLOYEES)
+                .retrieve()
+                .bodyToMono(EmployeeListResponse.class)
+                .block(CALL_TIMEOUT);
+        EmployeeApiResponse single = webClient.get()
+                .uri(AppConstants.GET_EMPLOYEE_BY_ID, WARMUP_ID)
+                .retrieve()
+                .bodyToMono(EmployeeApiResponse.class)
+                .block(CALL_TIMEOUT);
+        Map<String, Object> created = webClient.post()
+                .uri(AppConstants.CREATE_EMPLOYEE)
+                .bodyValue(employees.getData().get(0))
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
+                })
+                .block(CALL_TIMEOUT);
+        if (list == null || list.getData().size() != employees.getData().size()
+                || single == null || single.getData() == null || created == null) {
+            throw new IllegalStateException("WebClient warm-up decoded an unexpected response");
+        }
+    }
+
+    private ClientResponse respond(ClientRequest request, ExchangeStrategies exchangeStrategies) {
+        String body = isListRequest(request.method().name(), request.url().getPath()) ? employeesJson : employeeJson;
+        return ClientResponse.create(HttpStatus.OK, exchangeStrategies)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+
+    // Every other call gets a single employee, the create endpoint echoes one like the upstream API
+    private static boolean isListRequest(String method, String path) {
+        return HttpMethod.GET.matches(method) && path.endsWith(AppConstants.GET_ALL_EMPLOYEES);
+    }
+
+    private static List<Employee> generateEmployees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            employees.add(new Employee(String.valueOf(i), "Warmup Employee " + i,
+                    String.valueOf(40_000 + i * 10), String.valueOf(20 + i % 45), ""));
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.rqchallenge.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only, line-delimited JSON journal for write-behind creates.
+ * <p>
+ * Appends are group committed: a writer appends its record and then waits until the journal is forced
+ * up to its position. Only one fsync runs at a time and it covers everything written before it started,
+ * so writers queued behind it usually find their record already durable and skip their own fsync.
+ */
+@Slf4j
+public class CreateJournal implements Closeable {
+
+    private final Path path;
+
+    private final ObjectMapper objectMapper;
+
+    private final Object writeLock = new Object();
+
+    private final Object syncLock = new Object();
+
+    private FileChannel channel;
+
+    private volatile long writtenPosition;
+
+    private long durablePosition;  // guarded by syncLock
+
+    public CreateJournal(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads every intact record. A torn last line, left by a crash in the middle of an append, is skipped.
+     */
+    public List<JournalRecord> replay() throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        if (!Files.exists(path)) {
+            return records;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty()) {
+                    continue;
+                }
+                try {
+                    records.add(objectMapper.readValue(line, JournalRecord.class));
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable journal record at {}:{}: {}", path, lineNumber, e.getMessage());
+                }
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Atomically replaces the journal with the given records and opens it for appending. Also used to
+     * compact an open journal, callers must make sure nothing is appended in the meantime.
+     */
+    public void rewriteAndOpen(List<JournalRecord> records) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        synchronized (writeLock) {
+            // Syncs wait for the switch, positions they were handed in the old file are covered by the new one
+            synchronized (syncLock) {
+                try (FileChannel out = FileChannel.open(compacted,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    for (JournalRecord record : records) {
+                        writeFully(out, encode(record));
+                    }
+                    out.force(true);
+                }
+                Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                if (channel != null) {
+                    channel.close();
+                }
+                channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                writtenPosition = channel.size();
+                durablePosition = writtenPosition;
+            }
+        }
+    }
+
+    /**
+     * @return bytes written to the journal since it was last rewritten, plus what the rewrite kept
+     */
+    public long size() {
+        return writtenPosition;
+    }
+
+    /**
+     * Appends the record without waiting for fsync.
+     *
+     * @return journal position to pass to {@link #sync(long)} when the record has to be durable
+     */
+    public long append(JournalRecord record) throws IOException {
+        ByteBuffer bytes = encode(record);
+        synchronized (writeLock) {
+            writeFully(channel, bytes);
+            writtenPosition = channel.position();
+            return writtenPosition;
+        }
+    }
+
+    /**
+     * Returns once the journal is on disk up to the given position.
+     */
+    public void sync(long position) throws IOException {
+        synchronized (syncLock) {
+            if (durablePosition >= position) {
+                return;
+            }
+            // Everything written so far is covered by this force, including records appended by other threads
+            long target = writtenPosition;
+            channel.force(false);
+            durablePosition = target;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            if (channel != null) {
+                channel.force(false);
+                channel.close();
+            }
+        }
+    }
+
+    private ByteBuffer encode(JournalRecord record) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(record);
+        ByteBuffer buffer = ByteBuffer.allocate(json.length + 1);
+        buffer.put(json).put((byte) '\n').flip();
+        return buffer;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
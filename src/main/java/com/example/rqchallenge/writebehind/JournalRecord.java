@@ -0,0 +1,35 @@
+package com.example.rqchallenge.writebehind;
+
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.WriteState;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of the create journal. A PENDING record carries the employee, FLUSHED and FAILED records
+ * close the entry with the same tracking id.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JournalRecord {
+
+    @JsonProperty("tracking_id")
+    private String trackingId;
+
+    @JsonProperty("state")
+    private WriteState state;
+
+    @JsonProperty("employee")
+    private Employee employee;
+
+    @JsonProperty("timestamp")
+    private long timestamp;
+
+    @JsonProperty("error")
+    private String error;
+}
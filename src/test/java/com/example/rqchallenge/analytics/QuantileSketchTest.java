@@ -0,0 +1,66 @@
+package com.example.rqchallenge.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class QuantileSketchTest {
+
+    private static final double ACCURACY = 0.01;
+
+    @Test
+    public void testQuantiles_WithinRelativeAccuracy() {
+        Random random = new Random(7);
+        int[] values = new int[100_000];
+        QuantileSketch sketch = new QuantileSketch(ACCURACY);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1 + random.nextInt(1_000_000);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double q : new double[]{0.01, 0.25, 0.5, 0.9, 0.99, 1.0}) {
+            int exact = values[(int) Math.ceil(q * values.length) - 1];
+            assertEquals(exact, sketch.quantile(q), exact * ACCURACY + 1, "quantile " + q);
+        }
+    }
+
+    @Test
+    public void testMerge_MatchesSingleSketch() {
+        QuantileSketch whole = new QuantileSketch(ACCURACY);
+        QuantileSketch left = new QuantileSketch(ACCURACY);
+        QuantileSketch right = new QuantileSketch(ACCURACY);
+        for (int value = 0; value < 10_000; value++) {
+            whole.add(value);
+            (value % 2 == 0 ? left : right).add(value * 7 % 10_000);
+        }
+        left.merge(right);
+
+        assertEquals(whole.getCount(), left.getCount());
+        for (double q : new double[]{0.1, 0.5, 0.95}) {
+            assertEquals(whole.quantile(q), left.quantile(q), whole.quantile(q) * 2 * ACCURACY + 1);
+        }
+    }
+
+    @Test
+    public void testEmptyAndZeroValues() {
+        QuantileSketch sketch = new QuantileSketch(ACCURACY);
+        assertEquals(0, sketch.quantile(0.5));
+
+        sketch.add(0);
+        sketch.add(0);
+        sketch.add(1000);
+        assertEquals(0, sketch.quantile(0.5));
+        assertEquals(1000, sketch.quantile(1.0), 1000 * ACCURACY);
+    }
+
+    @Test
+    public void testMerge_RejectsDifferentAccuracy() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new QuantileSketch(0.01).merge(new QuantileSketch(0.02)));
+    }
+}
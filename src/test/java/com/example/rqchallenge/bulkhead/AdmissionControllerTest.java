@@ -0,0 +1,104 @@
+package com.example.rqchallenge.bulkhead;
+
+import com.example.rqchallenge.exceptions.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdmissionControllerTest {
+
+    private static AdmissionController controller(int maxConcurrent, int perClass, int maxQueued, long latencyTargetMillis) {
+        Map<EndpointClass, BulkheadLimits> limits = new EnumMap<>(EndpointClass.class);
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            limits.put(endpointClass, new BulkheadLimits(perClass, maxQueued, latencyTargetMillis));
+        }
+        return new AdmissionController(maxConcurrent, limits);
+    }
+
+    private static void awaitQueued(AdmissionController controller, EndpointClass endpointClass, int count)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (controller.queued(endpointClass) != count) {
+            assertTrue(System.currentTimeMillis() < deadline, "waiter did not queue");
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    public void testAcquire_ShedsWhenQueueIsFull() {
+        AdmissionController controller = controller(10, 1, 0, 1000);
+        AdmissionController.Permit permit = controller.acquire(EndpointClass.SLOW_CALL);
+
+        ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+                () -> controller.acquire(EndpointClass.SLOW_CALL));
+
+        assertTrue(exception.getRetryAfterSeconds() >= 1);
+        permit.release();
+        controller.acquire(EndpointClass.SLOW_CALL).release();
+        assertEquals(0, controller.running(EndpointClass.SLOW_CALL));
+    }
+
+    @Test
+    public void testAcquire_FullClassDoesNotBlockOtherClasses() {
+        AdmissionController controller = controller(10, 1, 0, 1000);
+        AdmissionController.Permit slow = controller.acquire(EndpointClass.SLOW_CALL);
+        AdmissionController.Permit expensive = controller.acquire(EndpointClass.EXPENSIVE_READ);
+
+        AdmissionController.Permit cached = controller.acquire(EndpointClass.CACHED_READ);
+
+        assertEquals(1, controller.running(EndpointClass.CACHED_READ));
+        cached.release();
+        expensive.release();
+        slow.release();
+    }
+
+    @Test
+    public void testRelease_HandsSlotToHighestPriorityWaiter() throws Exception {
+        AdmissionController controller = controller(1, 1, 5, 5000);
+        AdmissionController.Permit first = controller.acquire(EndpointClass.SLOW_CALL);
+        List<EndpointClass> admitted = Collections.synchronizedList(new ArrayList<>());
+
+        Thread slow = new Thread(() -> {
+            AdmissionController.Permit permit = controller.acquire(EndpointClass.SLOW_CALL);
+            admitted.add(EndpointClass.SLOW_CALL);
+            permit.release();
+        });
+        slow.start();
+        awaitQueued(controller, EndpointClass.SLOW_CALL, 1);
+        Thread cached = new Thread(() -> {
+            AdmissionController.Permit permit = controller.acquire(EndpointClass.CACHED_READ);
+            admitted.add(EndpointClass.CACHED_READ);
+            permit.release();
+        });
+        cached.start();
+        awaitQueued(controller, EndpointClass.CACHED_READ, 1);
+
+        first.release();
+        slow.join(5000);
+        cached.join(5000);
+
+        // The cached read arrived later but is admitted first
+        assertEquals(List.of(EndpointClass.CACHED_READ, EndpointClass.SLOW_CALL), admitted);
+    }
+
+    @Test
+    public void testAcquire_ShedsAfterWaitingForLatencyTarget() {
+        AdmissionController controller = controller(1, 1, 5, 50);
+        AdmissionController.Permit permit = controller.acquire(EndpointClass.EXPENSIVE_READ);
+
+        long start = System.nanoTime();
+        assertThrows(ServiceOverloadedException.class, () -> controller.acquire(EndpointClass.EXPENSIVE_READ));
+
+        assertTrue(System.nanoTime() - start >= 50_000_000L);
+        assertEquals(0, controller.queued(EndpointClass.EXPENSIVE_READ));
+        permit.release();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.rqchallenge.bulkhead;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class AdmissionInterceptorTest {
+
+    static class Handlers {
+
+        @Bulkhead(EndpointClass.EXPENSIVE_READ)
+        public void guarded() {
+        }
+
+        public void unguarded() {
+        }
+    }
+
+    private final AdmissionController admissionController = admissionController();
+
+    private final AdmissionInterceptor interceptor = new AdmissionInterceptor(admissionController);
+
+    private static AdmissionController admissionController() {
+        Map<EndpointClass, BulkheadLimits> limits = new EnumMap<>(EndpointClass.class);
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            limits.put(endpointClass, new BulkheadLimits(2, 2, 100));
+        }
+        return new AdmissionController(4, limits);
+    }
+
+    @Test
+    public void testAnnotatedHandler_HoldsPermitUntilCompletion() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employees");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HandlerMethod handler = new HandlerMethod(new Handlers(), Handlers.class.getMethod("guarded"));
+
+        interceptor.preHandle(request, response, handler);
+        assertEquals(1, admissionController.running(EndpointClass.EXPENSIVE_READ));
+
+        interceptor.afterCompletion(request, response, handler, null);
+        assertEquals(0, admissionController.running(EndpointClass.EXPENSIVE_READ));
+        assertNull(request.getAttribute(AdmissionInterceptor.PERMIT_ATTRIBUTE));
+    }
+
+    @Test
+    public void testUnannotatedHandler_NotAdmissionControlled() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employees/changes");
+        HandlerMethod handler = new HandlerMethod(new Handlers(), Handlers.class.getMethod("unguarded"));
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+
+        assertNull(request.getAttribute(AdmissionInterceptor.PERMIT_ATTRIBUTE));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.rqchallenge.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeResponseCacheTest {
+
+    private static final String JSON = "application/json";
+
+    @Test
+    public void testGet_MissesOnVersionChange() {
+        EmployeeResponseCache cache = new EmployeeResponseCache(1024, 512);
+        cache.put("/api/v1/employees", 1L, JSON, "[]".getBytes(StandardCharsets.UTF_8));
+
+        assertNotNull(cache.get("/api/v1/employees", 1L));
+        assertNull(cache.get("/api/v1/employees", 2L));
+        assertNull(cache.get("/api/v1/employees/highestSalary", 1L));
+    }
+
+    @Test
+    public void testPut_EvictsLeastRecentlyUsedWhenOverBudget() {
+        EmployeeResponseCache cache = new EmployeeResponseCache(250, 10_000);
+        cache.put("a", 1L, JSON, new byte[100]);
+        cache.put("b", 1L, JSON, new byte[100]);
+        cache.get("a", 1L);
+        cache.put("c", 1L, JSON, new byte[100]);
+
+        assertNotNull(cache.get("a", 1L));
+        assertNull(cache.get("b", 1L));
+        assertNotNull(cache.get("c", 1L));
+        assertEquals(200, cache.sizeInBytes());
+    }
+
+    @Test
+    public void testPut_SkipsEntriesLargerThanBudget() {
+        EmployeeResponseCache cache = new EmployeeResponseCache(50, 10_000);
+        EmployeeResponseCache.Entry entry = cache.put("a", 1L, JSON, new byte[100]);
+
+        assertEquals(100, entry.getBody().length);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testPut_CompressesLargeBodies() throws IOException {
+        EmployeeResponseCache cache = new EmployeeResponseCache(1 << 20, 64);
+        byte[] body = new byte[4096];
+        Arrays.fill(body, (byte) 'x');
+
+        EmployeeResponseCache.Entry entry = cache.put("a", 1L, JSON, body);
+
+        assertNotNull(entry.getGzipBody());
+        assertTrue(entry.getGzipBody().length < body.length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(entry.getGzipBody()))) {
+            assertArrayEquals(body, in.readAllBytes());
+        }
+        assertNull(cache.put("b", 1L, JSON, new byte[8]).getGzipBody());
+    }
+}
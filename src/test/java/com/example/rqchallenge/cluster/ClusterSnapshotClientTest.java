@@ -0,0 +1,144 @@
+package com.example.rqchallenge.cluster;
+
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import utils.MockEmployeeDataGenerator;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClusterSnapshotClientTest {
+
+    // One cycle that never ends, so the leader is always the first member in sorted order
+    private static final long SINGLE_CYCLE = Long.MAX_VALUE;
+
+    private static final int MAX_SNAPSHOT_BYTES = 64 * 1024 * 1024;
+
+    private MockWebServer peer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        peer = new MockWebServer();
+        peer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        peer.shutdown();
+    }
+
+    @Test
+    void testLeaderFor_RotatesOverSortedMembers() {
+        ClusterSnapshotClient client = new ClusterSnapshotClient(true, "http://node-b:8080/",
+                "http://node-c:8080, http://node-a:8080", 1000, 2000, MAX_SNAPSHOT_BYTES, WebClient.builder());
+
+        assertEquals("http://node-a:8080", client.leaderFor(0));
+        assertEquals("http://node-b:8080", client.leaderFor(1000));
+        assertEquals("http://node-c:8080", client.leaderFor(2999));
+        assertEquals("http://node-a:8080", client.leaderFor(3000));
+    }
+
+    @Test
+    void testFetchFromLeader_DecodesPeerSnapshot() throws Exception {
+        EmployeeSnapshot leaderSnapshot = new EmployeeSnapshot(12L, MockEmployeeDataGenerator.generateEmployees(20), 5L);
+        peer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/octet-stream")
+                .setBody(new Buffer().write(SnapshotCodec.encode(leaderSnapshot))));
+        ClusterSnapshotClient client = new ClusterSnapshotClient(true, "http://zzz-self:8080",
+                peer.url("/").toString(), SINGLE_CYCLE, 2000, MAX_SNAPSHOT_BYTES, WebClient.builder());
+
+        Optional<EmployeeSnapshot> snapshot = client.fetchFromLeader();
+
+        assertTrue(snapshot.isPresent());
+        assertEquals(12L, snapshot.get().getVersion());
+        assertEquals(leaderSnapshot.getEmployees(), snapshot.get().getEmployees());
+        RecordedRequest request = peer.takeRequest();
+        assertEquals("/internal/v1/cluster/snapshot", request.getPath());
+    }
+
+    @Test
+    void testFetchFromLeader_DecodesSnapshotAboveDefaultBufferLimit() throws Exception {
+        EmployeeSnapshot leaderSnapshot = new EmployeeSnapshot(7L, MockEmployeeDataGenerator.generateEmployees(100_000), 5L);
+        byte[] encoded = SnapshotCodec.encode(leaderSnapshot);
+        assertTrue(encoded.length > 256 * 1024, "payload must exceed the default codec limit");
+        peer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/octet-stream")
+                .setBody(new Buffer().write(encoded)));
+        ClusterSnapshotClient client = new ClusterSnapshotClient(true, "http://zzz-self:8080",
+                peer.url("/").toString(), SINGLE_CYCLE, 10_000, MAX_SNAPSHOT_BYTES, WebClient.builder());
+
+        Optional<EmployeeSnapshot> snapshot = client.fetchFromLeader();
+
+        assertTrue(snapshot.isPresent());
+        assertEquals(leaderSnapshot.getEmployees(), snapshot.get().getEmployees());
+    }
+
+    @Test
+    void testFetchFromLeader_EmptyWhenLeaderHasNoData() throws Exception {
+        // A restarted leader whose first upstream fetch failed still stamps its empty snapshot
+        peer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/octet-stream")
+                .setBody(new Buffer().write(SnapshotCodec.encode(EmployeeSnapshot.EMPTY.withFetchedAt(5L)))));
+        ClusterSnapshotClient client = new ClusterSnapshotClient(true, "http://zzz-self:8080",
+                peer.url("/").toString(), SINGLE_CYCLE, 2000, MAX_SNAPSHOT_BYTES, WebClient.builder());
+
+        assertFalse(client.fetchFromLeader().isPresent());
+    }
+
+    @Test
+    void testFetchFromLeader_EmptyWhenSelfIsLeader() {
+        ClusterSnapshotClient client = new ClusterSnapshotClient(true, "http://aaa-self:8080",
+                peer.url("/").toString(), SINGLE_CYCLE, 2000, MAX_SNAPSHOT_BYTES, WebClient.builder());
+
+        assertFalse(client.fetchFromLeader().isPresent());
+        assertEquals(0, peer.getRequestCount());
+    }
+
+    @Test
+    void testFetchFromLeader_FallsBackWhenPeerFails() {
+        peer.enqueue(new MockResponse().setResponseCode(503));
+        ClusterSnapshotClient client = new ClusterSnapshotClient(true, "http://zzz-self:8080",
+                peer.url("/").toString(), SINGLE_CYCLE, 2000, MAX_SNAPSHOT_BYTES, WebClient.builder());
+
+        assertFalse(client.fetchFromLeader().isPresent());
+    }
+
+    @Test
+    void testCodec_RoundTripsNullFields() throws Exception {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(3L, MockEmployeeDataGenerator.generateEmployees(3), 9L);
+        snapshot.getEmployees().get(1).setProfileImage(null);
+
+        EmployeeSnapshot decoded = SnapshotCodec.decode(SnapshotCodec.encode(snapshot));
+
+        assertEquals(3L, decoded.getVersion());
+        assertEquals(9L, decoded.getFetchedAt());
+        assertEquals(snapshot.getEmployees(), decoded.getEmployees());
+        assertArrayEquals(snapshot.getSalaries(), decoded.getSalaries());
+    }
+
+    @Test
+    void testCodec_RoundTripsFieldsAboveModifiedUtf8Limit() throws Exception {
+        // An inline data: URL as profile image, well above the 65535 bytes writeUTF could take
+        String profileImage = "data:image/png;base64," + "\u00e9".repeat(40_000);
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(3L, List.of(
+                new Employee("1", "Tiger Nixon", "320800", "61", profileImage)), 9L);
+
+        EmployeeSnapshot decoded = SnapshotCodec.decode(SnapshotCodec.encode(snapshot));
+
+        assertEquals(profileImage, decoded.getEmployees().get(0).getProfileImage());
+    }
+}
@@ -1,7 +1,20 @@
 package com.example.rqchallenge.controller;
 
 import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeePage;
+import com.example.rqchallenge.model.EmployeeRangeQuery;
+import com.example.rqchallenge.model.EmployeeSortField;
+import com.example.rqchallenge.model.EmployeeSummary;
+import com.example.rqchallenge.model.SalaryStatistics;
+import com.example.rqchallenge.model.SuggestionOrder;
+import com.example.rqchallenge.model.SummaryComponent;
+import com.example.rqchallenge.model.WriteState;
+import com.example.rqchallenge.model.WriteStatus;
+import com.example.rqchallenge.service.EmployeeSearchService;
 import com.example.rqchallenge.service.EmployeeService;
+import com.example.rqchallenge.service.SalaryAnalyticsService;
+import com.example.rqchallenge.service.WriteBehindService;
+import com.example.rqchallenge.sync.EmployeeChangeFeed;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -9,12 +22,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import utils.MockEmployeeDataGenerator;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -26,6 +44,18 @@ public class EmployeeControllerTest {
     @Mock
     private EmployeeService employeeService;
 
+    @Mock
+    private SalaryAnalyticsService salaryAnalyticsService;
+
+    @Mock
+    private EmployeeChangeFeed changeFeed;
+
+    @Mock
+    private WriteBehindService writeBehindService;
+
+    @Mock
+    private EmployeeSearchService employeeSearchService;
+
     @InjectMocks
     private EmployeeController employeeController;
 
@@ -79,6 +109,59 @@ public class EmployeeControllerTest {
         verify(employeeService, times(1)).getEmployeesByNameSearch(searchString);
     }
 
+    @Test
+    public void testGetSalaryStatistics_Success() {
+        // Arrange
+        List<Double> percentiles = Arrays.asList(50.0, 90.0);
+        SalaryStatistics statistics = new SalaryStatistics();
+        statistics.setCount(50);
+
+        when(salaryAnalyticsService.getSalaryStatistics(percentiles, 50000, 10)).thenReturn(statistics);
+
+        // Act
+        ResponseEntity<SalaryStatistics> response = employeeController.getSalaryStatistics(percentiles, 50000, 10);
+
+        // Assert
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(statistics, response.getBody());
+        verify(salaryAnalyticsService, times(1)).getSalaryStatistics(percentiles, 50000, 10);
+    }
+
+    @Test
+    public void testGetEmployeeSummary_SearchImpliesSearchHits() {
+        // Arrange
+        EmployeeSummary summary = new EmployeeSummary(3L, 50, 1200000, null, Collections.emptyList());
+        Set<SummaryComponent> expected = EnumSet.of(
+                SummaryComponent.COUNT, SummaryComponent.HIGHEST_SALARY, SummaryComponent.SEARCH_HITS);
+
+        when(employeeService.getEmployeeSummary(expected, 10, "John")).thenReturn(summary);
+
+        // Act
+        ResponseEntity<EmployeeSummary> response =
+                employeeController.getEmployeeSummary(Arrays.asList("count", "highestSalary"), 10, "John");
+
+        // Assert
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(summary, response.getBody());
+        verify(employeeService, times(1)).getEmployeeSummary(expected, 10, "John");
+    }
+
+    @Test
+    public void testGetEmployeeSummary_UnknownComponent() {
+        assertThrows(ResponseStatusException.class, () ->
+                employeeController.getEmployeeSummary(Arrays.asList("count", "salaries"), 10, null));
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    public void testStreamEmployeeChanges_ResumesFromHeader() {
+        // Act
+        SseEmitter emitter = employeeController.streamEmployeeChanges("k3x9-42", "k3x9-7");
+
+        // Assert
+        verify(changeFeed, times(1)).subscribe(emitter, "k3x9-42");
+    }
+
     @Test
     public void testGetEmployeeById_Success() {
         // Arrange
@@ -147,6 +230,27 @@ public class EmployeeControllerTest {
         });
     }
 
+    @Test
+    public void testCreateEmployeeAsync_Accepted() {
+        // Arrange
+        Map<String, Object> employeeInput = new HashMap<>();
+        employeeInput.put("name", "John Doe");
+        employeeInput.put("salary", "50000");
+        employeeInput.put("age", "30");
+        WriteStatus status = new WriteStatus("abc", WriteState.PENDING, null, 0, 1L, null, null);
+
+        when(writeBehindService.submitCreate(any(Employee.class))).thenReturn(status);
+
+        // Act
+        ResponseEntity<WriteStatus> response = employeeController.createEmployeeAsync(employeeInput);
+
+        // Assert
+        assertEquals(202, response.getStatusCodeValue());
+        assertEquals(status, response.getBody());
+        assertEquals("/api/v1/employees/writes/abc", response.getHeaders().getLocation().toString());
+        verify(employeeService, never()).createEmployee(any(Employee.class));
+    }
+
     @Test
     public void testDeleteEmployee_Success() {
         // Arrange
@@ -174,4 +278,54 @@ public class EmployeeControllerTest {
         });
 
     }
+
+    @Test
+    public void testGetEmployeesByFuzzyNameSearch_Success() {
+        List<Employee> employees = MockEmployeeDataGenerator.generateEmployees(3);
+        when(employeeSearchService.fuzzySearch("jonh", null, 20)).thenReturn(employees);
+
+        ResponseEntity<List<Employee>> response = employeeController.getEmployeesByFuzzyNameSearch("jonh", null, 20);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(employees, response.getBody());
+        verify(employeeSearchService, times(1)).fuzzySearch("jonh", null, 20);
+    }
+
+    @Test
+    public void testGetEmployeeNameSuggestions_Success() {
+        List<Employee> employees = MockEmployeeDataGenerator.generateEmployees(2);
+        when(employeeSearchService.autocomplete("jo", SuggestionOrder.NAME, 5)).thenReturn(employees);
+
+        ResponseEntity<List<Employee>> response = employeeController.getEmployeeNameSuggestions("jo", "name", 5);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(employees, response.getBody());
+    }
+
+    @Test
+    public void testGetEmployeeNameSuggestions_UnknownSort() {
+        assertThrows(ResponseStatusException.class, () -> employeeController.getEmployeeNameSuggestions("jo", "age", 5));
+        verifyNoInteractions(employeeSearchService);
+    }
+
+    @Test
+    public void testGetEmployeesByRange_Success() {
+        List<Employee> employees = MockEmployeeDataGenerator.generateEmployees(2);
+        EmployeeRangeQuery query = new EmployeeRangeQuery(1000, 5000, null, 40, "an", EmployeeSortField.AGE, true, 1, 2);
+        when(employeeSearchService.rangeSearch(query)).thenReturn(new EmployeePage(3L, 4, 1, 2, employees));
+
+        ResponseEntity<EmployeePage> response = employeeController.getEmployeesByRange(1000, 5000, null, 40, "an",
+                "age", "DESC", 1, 2);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(4, response.getBody().getTotal());
+        assertEquals(employees, response.getBody().getEmployees());
+    }
+
+    @Test
+    public void testGetEmployeesByRange_InvalidOrder() {
+        assertThrows(ResponseStatusException.class, () -> employeeController.getEmployeesByRange(null, null, 20, 30, null,
+                "salary", "sideways", 0, 10));
+        verifyNoInteractions(employeeSearchService);
+    }
 }
@@ -0,0 +1,199 @@
+package com.example.rqchallenge.filter;
+
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import com.example.rqchallenge.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import utils.MockEmployeeDataGenerator;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EmployeeConditionalGetFilterTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private EmployeeConditionalGetFilter filter;
+
+    private EmployeeSnapshot snapshot;
+
+    private String etag;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        filter = new EmployeeConditionalGetFilter(employeeService, 5);
+        snapshot = new EmployeeSnapshot(7L, MockEmployeeDataGenerator.generateEmployees(5), 1L);
+        etag = EmployeeConditionalGetFilter.etagFor(snapshot, null);
+        when(employeeService.getFreshSnapshot()).thenReturn(Optional.of(snapshot));
+    }
+
+    @Test
+    public void testMatchingIfNoneMatch_ReturnsNotModified() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employees/highestSalary");
+        request.addHeader("If-None-Match", etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(etag, response.getHeader("ETag"));
+        assertEquals("max-age=5, must-revalidate", response.getHeader("Cache-Control"));
+        assertNull(chain.getRequest(), "Controller must not be invoked for a 304");
+    }
+
+    @Test
+    public void testStaleIfNoneMatch_PassesThroughWithETag() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employees");
+        request.addHeader("If-None-Match", EmployeeConditionalGetFilter.etagFor(
+                new EmployeeSnapshot(6L, MockEmployeeDataGenerator.generateEmployees(4), 1L), null));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(etag, response.getHeader("ETag"));
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    public void testErrorResponse_CarriesNoValidators() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employees");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setStatus(503);
+                resp.getWriter().write("{\"error\":\"busy\"}");
+            }
+        });
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(503, response.getStatus());
+        assertNull(response.getHeader("ETag"));
+        assertNull(response.getHeader("Cache-Control"));
+        assertNull(response.getHeader("Vary"));
+    }
+
+    @Test
+    public void testSuccessfulResponse_TaggedBeforeBodyIsWritten() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employees");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.getWriter().write("[]");
+                resp.flushBuffer();
+            }
+        });
+
+        filter.doFilter(request, response, chain);
+
+        assertTrue(response.isCommitted());
+        assertEquals(etag, response.getHeader("ETag"));
+        assertEquals("max-age=5, must-revalidate", response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    public void testStaleSnapshot_PassesThroughWithoutRefreshing() throws Exception {
+        when(employeeService.getFreshSnapshot()).thenReturn(Optional.empty());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employees");
+        request.addHeader("If-None-Match", etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader("ETag"));
+        assertNotNull(chain.getRequest());
+        verify(employeeService, never()).getSnapshot();
+    }
+
+    @Test
+    public void testNonSnapshotEndpoint_IsNotFiltered() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employees/42");
+        request.addHeader("If-None-Match", "*");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertNull(response.getHeader("ETag"));
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    public void testBinaryRepresentation_HasDistinctETag() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employees");
+        request.addHeader("Accept", "application/x-jackson-smile");
+        request.addHeader("If-None-Match", etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType("application/x-jackson-smile");
+                resp.getOutputStream().write(new byte[]{':', ')', '\n'});
+            }
+        });
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(etag.substring(0, etag.length() - 1) + "-smile\"", response.getHeader("ETag"));
+        assertEquals("Accept", response.getHeader("Vary"));
+    }
+
+    @Test
+    public void testETag_FollowsDataNotVersion() {
+        // A restarted instance or another replica may serve the same data under a different version
+        EmployeeSnapshot sameData = new EmployeeSnapshot(1L, new ArrayList<>(snapshot.getEmployees()), 1L);
+        assertEquals(etag, EmployeeConditionalGetFilter.etagFor(sameData, null));
+
+        List<Employee> changed = new ArrayList<>(snapshot.getEmployees());
+        changed.set(0, new Employee("1", "Renamed", "1", "30", ""));
+        EmployeeSnapshot otherData = new EmployeeSnapshot(7L, changed, 1L);
+        assertNotEquals(etag, EmployeeConditionalGetFilter.etagFor(otherData, null));
+    }
+
+    @Test
+    public void testNegotiate_FollowsAcceptQualities() {
+        assertEquals(MediaType.APPLICATION_JSON, EmployeeConditionalGetFilter.negotiate(null));
+        assertEquals(MediaType.APPLICATION_JSON, EmployeeConditionalGetFilter.negotiate("*/*"));
+        assertEquals("cbor", EmployeeConditionalGetFilter.negotiate("application/json;q=0.5, application/cbor").getSubtype());
+        // Mentioning Smile does not select it when it is not acceptable
+        assertEquals(MediaType.APPLICATION_JSON,
+                EmployeeConditionalGetFilter.negotiate("application/x-jackson-smile;q=0, */*;q=0.1"));
+        assertNull(EmployeeConditionalGetFilter.negotiate("text/html"));
+        assertNull(EmployeeConditionalGetFilter.negotiate("application/"));
+    }
+
+    @Test
+    public void testIfNoneMatchParsing() {
+        assertTrue(EmployeeConditionalGetFilter.matchesIfNoneMatch("\"v1\", W/\"v7\"", "\"v7\""));
+        assertTrue(EmployeeConditionalGetFilter.matchesIfNoneMatch("*", "\"v7\""));
+        assertFalse(EmployeeConditionalGetFilter.matchesIfNoneMatch("\"v70\"", "\"v7\""));
+        assertFalse(EmployeeConditionalGetFilter.matchesIfNoneMatch(null, "\"v7\""));
+    }
+}
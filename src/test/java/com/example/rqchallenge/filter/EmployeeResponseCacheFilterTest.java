@@ -0,0 +1,104 @@
+package com.example.rqchallenge.filter;
+
+import com.example.rqchallenge.cache.EmployeeResponseCache;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import com.example.rqchallenge.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EmployeeResponseCacheFilterTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private EmployeeResponseCacheFilter filter;
+
+    private final AtomicInteger controllerInvocations = new AtomicInteger();
+
+    private final HttpServlet controller = new HttpServlet() {
+        @Override
+        protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            controllerInvocations.incrementAndGet();
+            resp.setContentType("application/json");
+            resp.getWriter().write("[\"Tiger Nixon\"]");
+        }
+    };
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        filter = new EmployeeResponseCacheFilter(employeeService, new EmployeeResponseCache(1 << 20, 4));
+        when(employeeService.getFreshSnapshot()).thenReturn(Optional.of(new EmployeeSnapshot(3L, Collections.emptyList(), 1L)));
+    }
+
+    @Test
+    public void testSecondRequest_ServedFromCache() throws Exception {
+        MockHttpServletResponse first = execute(null);
+        MockHttpServletResponse second = execute(null);
+
+        assertEquals(1, controllerInvocations.get());
+        assertEquals("[\"Tiger Nixon\"]", first.getContentAsString());
+        assertEquals("[\"Tiger Nixon\"]", second.getContentAsString());
+        assertTrue(second.getContentType().startsWith("application/json"));
+        assertNull(second.getHeader("Content-Encoding"));
+    }
+
+    @Test
+    public void testGzipAccepted_ServesCompressedVariant() throws Exception {
+        execute(null);
+        MockHttpServletResponse response = execute("gzip, deflate");
+
+        assertEquals(1, controllerInvocations.get());
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+    }
+
+    @Test
+    public void testVersionChange_RerendersResponse() throws Exception {
+        execute(null);
+        when(employeeService.getFreshSnapshot()).thenReturn(Optional.of(new EmployeeSnapshot(4L, Collections.emptyList(), 1L)));
+        execute(null);
+
+        assertEquals(2, controllerInvocations.get());
+    }
+
+    @Test
+    public void testStaleSnapshot_NeitherServedNorCached() throws Exception {
+        execute(null);
+        when(employeeService.getFreshSnapshot()).thenReturn(Optional.empty());
+        execute(null);
+        execute(null);
+
+        assertEquals(3, controllerInvocations.get());
+        verify(employeeService, never()).getSnapshot();
+    }
+
+    private MockHttpServletResponse execute(String acceptEncoding) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employees/topTenHighestEarningEmployeeNames");
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(controller));
+        return response;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.rqchallenge.search;
+
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import com.example.rqchallenge.model.SuggestionOrder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AutocompleteIndexTest {
+
+    private static EmployeeSnapshot snapshot(String... namesAndSalaries) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < namesAndSalaries.length; i += 2) {
+            employees.add(new Employee(String.valueOf(i / 2 + 1), namesAndSalaries[i], namesAndSalaries[i + 1], "30", ""));
+        }
+        return new EmployeeSnapshot(1, employees, 0);
+    }
+
+    private static List<String> names(List<Employee> employees) {
+        return employees.stream().map(Employee::getEmployeeName).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testSuggest_RanksBySalaryOrName() {
+        AutocompleteIndex index = AutocompleteIndex.build(snapshot(
+                "John Smith", "50000", "Joanna Lee", "90000", "Bob Johnson", "70000", "Mary Jones", "60000"), 10);
+
+        assertEquals(Arrays.asList("Joanna Lee", "Bob Johnson", "Mary Jones", "John Smith"),
+                names(index.suggest("jo", SuggestionOrder.SALARY, 10)));
+        assertEquals(Arrays.asList("Bob Johnson", "Joanna Lee", "John Smith", "Mary Jones"),
+                names(index.suggest("Jo", SuggestionOrder.NAME, 10)));
+        assertEquals(Arrays.asList("Joanna Lee"), names(index.suggest("jo", SuggestionOrder.SALARY, 1)));
+    }
+
+    @Test
+    public void testSuggest_MissingSalaryRanksLast() {
+        AutocompleteIndex index = AutocompleteIndex.build(snapshot(
+                "Ann Lee", null, "Anna Cole", "0", "Annie Hart", "40000"), 10);
+
+        assertEquals(Arrays.asList("Annie Hart", "Anna Cole", "Ann Lee"),
+                names(index.suggest("ann", SuggestionOrder.SALARY, 10)));
+    }
+
+    @Test
+    public void testSuggest_MatchesFullNamePrefix() {
+        AutocompleteIndex index = AutocompleteIndex.build(snapshot(
+                "John Smith", "50000", "John Smythe", "80000", "Smith John", "90000"), 10);
+
+        assertEquals(Arrays.asList("John Smith"), names(index.suggest("john smi", SuggestionOrder.SALARY, 10)));
+        assertTrue(index.suggest("xyz", SuggestionOrder.SALARY, 10).isEmpty());
+        assertTrue(index.suggest("  ", SuggestionOrder.SALARY, 10).isEmpty());
+    }
+
+    @Test
+    public void testSuggest_MatchesBruteForceOnRandomNames() {
+        Random random = new Random(5);
+        String[] data = new String[4000];
+        for (int i = 0; i < data.length; i += 2) {
+            data[i] = randomWord(random) + " " + randomWord(random);
+            data[i + 1] = String.valueOf(random.nextInt(1000));
+        }
+        EmployeeSnapshot snapshot = snapshot(data);
+        AutocompleteIndex index = AutocompleteIndex.build(snapshot, 5);
+
+        for (int q = 0; q < 100; q++) {
+            String prefix = randomWord(random).substring(0, 1 + random.nextInt(2));
+            List<Employee> expected = snapshot.getEmployees().stream()
+                    .filter(employee -> NameTokenizer.tokenize(employee.getEmployeeName()).stream()
+                            .anyMatch(token -> token.startsWith(prefix)))
+                    .sorted(Comparator.comparingInt((Employee employee) -> -Integer.parseInt(employee.getEmployeeSalary()))
+                            .thenComparing(Employee::getEmployeeName))
+                    .collect(Collectors.toList());
+            List<Employee> actual = index.suggest(prefix, SuggestionOrder.SALARY, 5);
+
+            assertEquals(Math.min(5, expected.size()), actual.size(), "prefix " + prefix);
+            for (int i = 0; i < actual.size(); i++) {
+                assertEquals(expected.get(i).getEmployeeSalary(), actual.get(i).getEmployeeSalary(), "prefix " + prefix);
+            }
+        }
+    }
+
+    @Test
+    public void testIncrementalUpdates_MatchFullRebuild() {
+        Random random = new Random(23);
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1L, randomEmployees(random, 0, 300), 1L);
+        snapshot.getIndex(AutocompleteIndex.class, data -> AutocompleteIndex.build(data, 5));
+
+        for (int step = 1; step <= 100; step++) {
+            Set<String> removedIds = new HashSet<>();
+            for (int i = random.nextInt(4); i > 0 && !snapshot.getEmployees().isEmpty(); i--) {
+                removedIds.add(snapshot.getEmployees().get(random.nextInt(snapshot.getEmployees().size())).getId());
+            }
+            snapshot = snapshot.withChanges(removedIds, randomEmployees(random, 1000 * step, random.nextInt(4)));
+
+            AutocompleteIndex carried = snapshot.getIndex(AutocompleteIndex.class, data -> {
+                throw new AssertionError("autocomplete index should have been carried over");
+            });
+            AutocompleteIndex rebuilt = AutocompleteIndex.build(snapshot, 5);
+            for (int q = 0; q < 5; q++) {
+                String word = randomWord(random);
+                String prefix = random.nextBoolean() ? word.substring(0, 1 + random.nextInt(3)) : word + " " + word.charAt(0);
+                for (SuggestionOrder order : SuggestionOrder.values()) {
+                    assertEquals(rebuilt.suggest(prefix, order, 5), carried.suggest(prefix, order, 5),
+                            "prefix " + prefix + " by " + order);
+                }
+            }
+        }
+    }
+
+    // Includes names repeating a token, names without any token and missing salaries
+    private static List<Employee> randomEmployees(Random random, int firstId, int count) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String first = randomWord(random);
+            int kind = random.nextInt(20);
+            String name = kind == 0 ? "" : kind == 1 ? first + " " + first : first + " " + randomWord(random);
+            String salary = random.nextInt(10) == 0 ? null : String.valueOf(random.nextInt(100));
+            employees.add(new Employee(String.valueOf(firstId + i), name, salary, "30", ""));
+        }
+        return employees;
+    }
+
+    private static String randomWord(Random random) {
+        char[] word = new char[3 + random.nextInt(5)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(8));
+        }
+        return new String(word);
+    }
+}
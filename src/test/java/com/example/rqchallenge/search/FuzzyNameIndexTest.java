@@ -0,0 +1,145 @@
+package com.example.rqchallenge.search;
+
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FuzzyNameIndexTest {
+
+    private static FuzzyNameIndex index(String... names) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            employees.add(new Employee(String.valueOf(i + 1), names[i], "1000", "30", ""));
+        }
+        return FuzzyNameIndex.build(new EmployeeSnapshot(1, employees, 0));
+    }
+
+    private static List<String> names(List<Employee> employees) {
+        return employees.stream().map(Employee::getEmployeeName).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testSearch_RanksExactThenPrefixThenTypo() {
+        FuzzyNameIndex index = index("Jonas Brown", "John Smith", "Jon Doe", "Joan Lee", "Mary Jane");
+
+        List<String> results = names(index.search("jon", 1, 10));
+
+        assertEquals(Arrays.asList("Jon Doe", "Jonas Brown", "John Smith", "Joan Lee"), results);
+    }
+
+    @Test
+    public void testSearch_ToleratesTyposAndAccents() {
+        FuzzyNameIndex index = index("Zo\u00eb M\u00fcller", "Zack Miller", "Brian Smith");
+
+        assertEquals(Arrays.asList("Zo\u00eb M\u00fcller"), names(index.search("zoe muller", 0, 10)));
+        assertEquals(Arrays.asList("Brian Smith"), names(index.search("smtih", 2, 10)));
+        assertTrue(index.search("smtih", 1, 10).isEmpty());
+    }
+
+    @Test
+    public void testSearch_RequiresEveryTokenAndHonoursLimit() {
+        FuzzyNameIndex index = index("Anna Smith", "Anna Jones", "Anne Smyth", "Bob Smith");
+
+        assertEquals(Arrays.asList("Anna Smith", "Anne Smyth"), names(index.search("anna smith", 1, 10)));
+        assertEquals(1, index.search("anna smith", 1, 1).size());
+        assertTrue(index.search("", 2, 10).isEmpty());
+    }
+
+    @Test
+    public void testSearch_MatchesBruteForceOnRandomNames() {
+        Random random = new Random(11);
+        String[] names = new String[2000];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = randomWord(random) + " " + randomWord(random);
+        }
+        FuzzyNameIndex index = index(names);
+
+        for (int q = 0; q < 50; q++) {
+            String query = randomWord(random);
+            int expected = 0;
+            for (String name : names) {
+                if (anyTokenWithin(name, query, 2)) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, index.search(query, 2, names.length).size(), "query " + query);
+        }
+    }
+
+    @Test
+    public void testIndex_BuiltOncePerSnapshot() {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(3,
+                Arrays.asList(new Employee("1", "Ada Lovelace", "1000", "36", "")), 0);
+
+        FuzzyNameIndex first = snapshot.getIndex(FuzzyNameIndex.class, FuzzyNameIndex::build);
+
+        assertSame(first, snapshot.getIndex(FuzzyNameIndex.class, FuzzyNameIndex::build));
+        assertSame(first, snapshot.withFetchedAt(42).getIndex(FuzzyNameIndex.class, FuzzyNameIndex::build));
+    }
+
+    @Test
+    public void testIncrementalUpdates_MatchFullRebuild() {
+        Random random = new Random(17);
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1L, randomEmployees(random, 0, 300), 1L);
+        snapshot.getIndex(FuzzyNameIndex.class, FuzzyNameIndex::build);
+
+        for (int step = 1; step <= 100; step++) {
+            Set<String> removedIds = new HashSet<>();
+            for (int i = random.nextInt(4); i > 0 && !snapshot.getEmployees().isEmpty(); i--) {
+                removedIds.add(snapshot.getEmployees().get(random.nextInt(snapshot.getEmployees().size())).getId());
+            }
+            snapshot = snapshot.withChanges(removedIds, randomEmployees(random, 1000 * step, random.nextInt(4)));
+
+            FuzzyNameIndex carried = snapshot.getIndex(FuzzyNameIndex.class, data -> {
+                throw new AssertionError("fuzzy index should have been carried over");
+            });
+            FuzzyNameIndex rebuilt = FuzzyNameIndex.build(snapshot);
+            for (int q = 0; q < 5; q++) {
+                String query = randomWord(random) + (random.nextBoolean() ? "" : " " + randomWord(random).substring(0, 2));
+                assertEquals(rebuilt.search(query, 2, 50), carried.search(query, 2, 50), "query " + query);
+            }
+        }
+    }
+
+    // Includes names repeating a token and names without any token
+    private static List<Employee> randomEmployees(Random random, int firstId, int count) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String first = randomWord(random);
+            int kind = random.nextInt(20);
+            String name = kind == 0 ? "" : kind == 1 ? first + " " + first : first + " " + randomWord(random);
+            employees.add(new Employee(String.valueOf(firstId + i), name, "1000", "30", ""));
+        }
+        return employees;
+    }
+
+    private static boolean anyTokenWithin(String name, String query, int maxDistance) {
+        for (String token : NameTokenizer.tokenize(name)) {
+            if (token.startsWith(query)
+                    || FuzzyNameIndex.levenshtein(query, token, new int[0], new int[0]) <= maxDistance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String randomWord(Random random) {
+        char[] word = new char[3 + random.nextInt(5)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(6));
+        }
+        return new String(word);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.rqchallenge.search;
+
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RangeIndexTest {
+
+    private static int[] positions(RangeIndex.SortedColumn column, int min, int max) {
+        int from = column.from(min);
+        int to = column.to(max);
+        int[] positions = new int[Math.max(0, to - from)];
+        for (int i = from; i < to; i++) {
+            positions[i - from] = column.positionAt(i);
+        }
+        return positions;
+    }
+
+    @Test
+    public void testRange_BinarySearchBounds() {
+        List<Employee> employees = Arrays.asList(
+                new Employee("1", "A", "300", "40", ""),
+                new Employee("2", "B", "100", "25", ""),
+                new Employee("3", "C", "200", null, ""),
+                new Employee("4", "D", "100", "31", ""),
+                new Employee("5", "E", "oops", "29", ""));
+        RangeIndex index = RangeIndex.build(new EmployeeSnapshot(1L, employees, 1L));
+
+        assertEquals(4, index.salaries().size());
+        assertEquals(4, index.ages().size());
+        assertEquals("[1, 3, 2]", Arrays.toString(positions(index.salaries(), 100, 200)));
+        assertEquals("[0]", Arrays.toString(positions(index.salaries(), 250, Integer.MAX_VALUE)));
+        assertEquals("[]", Arrays.toString(positions(index.salaries(), 301, 1000)));
+        assertEquals("[4, 3]", Arrays.toString(positions(index.ages(), 26, 39)));
+    }
+
+    @Test
+    public void testIncrementalUpdates_MatchFullRebuild() {
+        Random random = new Random(3);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            employees.add(randomEmployee(random, i));
+        }
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1L, employees, 1L);
+        snapshot.getIndex(RangeIndex.class, RangeIndex::build);
+
+        for (int step = 0; step < 300; step++) {
+            snapshot = random.nextInt(3) == 0 && !snapshot.getEmployees().isEmpty()
+                    ? snapshot.withChanges(Collections.singleton(
+                            snapshot.getEmployees().get(random.nextInt(snapshot.getEmployees().size())).getId()),
+                            Collections.emptyList())
+                    : snapshot.withChanges(Collections.emptySet(),
+                            Collections.singletonList(randomEmployee(random, 1000 + step)));
+
+            RangeIndex carried = snapshot.getIndex(RangeIndex.class, data -> {
+                throw new AssertionError("range index should have been carried over");
+            });
+            RangeIndex rebuilt = RangeIndex.build(snapshot);
+            int min = random.nextInt(500);
+            int max = min + random.nextInt(500);
+            assertEquals(Arrays.toString(positions(rebuilt.salaries(), min, max)),
+                    Arrays.toString(positions(carried.salaries(), min, max)));
+            assertEquals(Arrays.toString(positions(rebuilt.ages(), min / 10, max / 10)),
+                    Arrays.toString(positions(carried.ages(), min / 10, max / 10)));
+        }
+        assertEquals(301L, snapshot.getVersion());
+    }
+
+    private static Employee randomEmployee(Random random, int id) {
+        String salary = random.nextInt(10) == 0 ? null : String.valueOf(random.nextInt(1000));
+        String age = random.nextInt(10) == 0 ? "n/a" : String.valueOf(18 + random.nextInt(50));
+        return new Employee(String.valueOf(id), "Employee " + id, salary, age, "");
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.rqchallenge.service;
+
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeePage;
+import com.example.rqchallenge.model.EmployeeRangeQuery;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import com.example.rqchallenge.model.EmployeeSortField;
+import com.example.rqchallenge.search.AutocompleteIndex;
+import com.example.rqchallenge.search.FuzzyNameIndex;
+import com.example.rqchallenge.service.Impl.EmployeeSearchServiceImpl;
+import com.example.rqchallenge.store.EmployeeStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+public class EmployeeSearchServiceImplTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private final EmployeeStore employeeStore = new EmployeeStore();
+
+    private EmployeeSearchServiceImpl employeeSearchService;
+
+    private List<Employee> employees;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        employeeSearchService = new EmployeeSearchServiceImpl(employeeService, employeeStore);
+        employees = Arrays.asList(
+                new Employee("1", "Tiger Nixon", "320800", "61", ""),
+                new Employee("2", "Garrett Winters", "170750", "63", ""),
+                new Employee("3", "Ashton Cox", "86000", "66", ""),
+                new Employee("4", "Cedric Kelly", "433060", "22", ""),
+                new Employee("5", "Airi Satou", "162700", "33", ""),
+                new Employee("6", "Brielle Williamson", "372000", "61", ""),
+                new Employee("7", "Herrod Chandler", "137500", null, ""));
+        when(employeeService.getSnapshot()).thenReturn(new EmployeeSnapshot(4L, employees, 1L));
+    }
+
+    private static List<String> ids(EmployeePage page) {
+        return page.getEmployees().stream().map(Employee::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testRangeSearch_SalaryRangeInSalaryOrder() {
+        EmployeePage page = employeeSearchService.rangeSearch(
+                new EmployeeRangeQuery(100000, 400000, null, null, null, EmployeeSortField.SALARY, false, 0, 10));
+
+        assertEquals(4L, page.getVersion());
+        assertEquals(5, page.getTotal());
+        assertEquals(Arrays.asList("7", "5", "2", "1", "6"), ids(page));
+    }
+
+    @Test
+    public void testRangeSearch_CombinedWithNameSortedAndPaged() {
+        EmployeeRangeQuery query = new EmployeeRangeQuery(null, null, 60, 70, "i", EmployeeSortField.NAME, true, 0, 2);
+
+        EmployeePage first = employeeSearchService.rangeSearch(query);
+        query.setPage(1);
+        EmployeePage second = employeeSearchService.rangeSearch(query);
+
+        // Age 60-70 with an "i" in the name: Tiger Nixon, Garrett Winters, Brielle Williamson
+        assertEquals(3, first.getTotal());
+        assertEquals(Arrays.asList("1", "2"), ids(first));
+        assertEquals(Arrays.asList("6"), ids(second));
+    }
+
+    @Test
+    public void testRangeSearch_SalaryAndAgeDescendingByAge() {
+        EmployeePage page = employeeSearchService.rangeSearch(
+                new EmployeeRangeQuery(150000, null, 30, null, null, EmployeeSortField.AGE, true, 0, 10));
+
+        // Descending reverses the ascending order, so of the two aged 61 the later one comes first
+        assertEquals(Arrays.asList("2", "6", "1", "5"), ids(page));
+    }
+
+    @Test
+    public void testRangeSearch_InvalidBounds() {
+        assertThrows(ResponseStatusException.class, () -> employeeSearchService.rangeSearch(
+                new EmployeeRangeQuery(500, 100, null, null, null, EmployeeSortField.SALARY, false, 0, 10)));
+        assertThrows(ResponseStatusException.class, () -> employeeSearchService.rangeSearch(
+                new EmployeeRangeQuery(null, null, -1, null, null, EmployeeSortField.SALARY, false, 0, 10)));
+        assertThrows(ResponseStatusException.class, () -> employeeSearchService.rangeSearch(
+                new EmployeeRangeQuery(null, null, null, null, null, EmployeeSortField.SALARY, false, 0, 0)));
+    }
+
+    @Test
+    public void testBuildIndexes_BuildsIndexesInUseForPublishedSnapshot() {
+        employeeSearchService.fuzzySearch("tiger", null, 10);
+        EmployeeSnapshot published = employeeStore.update(current -> new EmployeeSnapshot(5L, employees, 2L));
+
+        employeeSearchService.buildIndexes();
+
+        published.getIndex(FuzzyNameIndex.class, snapshot -> {
+            throw new AssertionError("fuzzy index should have been built ahead of the request");
+        });
+        // Never queried, so not built
+        assertNull(published.getIndex(AutocompleteIndex.class, snapshot -> null));
+    }
+}
@@ -1,27 +1,50 @@
 package com.example.rqchallenge.service;
 
+import com.example.rqchallenge.cluster.ClusterSnapshotClient;
+import com.example.rqchallenge.cluster.SnapshotCodec;
 import com.example.rqchallenge.constants.TestConstants;
+import com.example.rqchallenge.model.ChangeType;
 import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeChangeEvent;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import com.example.rqchallenge.model.EmployeeSummary;
+import com.example.rqchallenge.model.SummaryComponent;
+import com.example.rqchallenge.search.RangeIndex;
 import com.example.rqchallenge.service.Impl.EmployeeServiceImpl;
+import com.example.rqchallenge.store.EmployeeMutation;
+import com.example.rqchallenge.store.EmployeeStore;
+import com.example.rqchallenge.sync.EmployeeChangeFeed;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okio.Buffer;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.util.ResourceUtils;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 @SpringBootTest
@@ -33,6 +56,8 @@ class EmployeeServiceImplTest {
 
     private EmployeeServiceImpl employeeService;
     private MockWebServer mockWebServer;
+    private EmployeeChangeFeed changeFeed;
+    private EmployeeStore employeeStore;
 
     @BeforeEach
     void setUp() throws IOException {
@@ -41,7 +66,11 @@ class EmployeeServiceImplTest {
         mockWebServer.start();
         String baseUrl = mockWebServer.url("test/").toString();
         WebClient webClient = WebClient.builder().baseUrl(baseUrl).build();
-        employeeService = new EmployeeServiceImpl(webClient);
+        changeFeed = new EmployeeChangeFeed(100);
+        ClusterSnapshotClient clusterSnapshotClient =
+                new ClusterSnapshotClient(false, "", "", 10000, 2000, 67108864, WebClient.builder());
+        employeeStore = new EmployeeStore();
+        employeeService = new EmployeeServiceImpl(webClient, changeFeed, clusterSnapshotClient, employeeStore);
 
     }
 
@@ -70,6 +99,157 @@ class EmployeeServiceImplTest {
         assertEquals("Garrett Winters", employees.get(1).getEmployeeName());
     }
 
+    @Test
+    void testGetSnapshot_ServedFromCacheWithinTtl() throws Exception {
+        String jsonResponse = getMockResonceData("employee_list.json");
+
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(TestConstants.CONTENT_TYPE, TestConstants.APPLICATION_JSON)
+                .setBody(jsonResponse));
+
+        EmployeeSnapshot first = employeeService.getSnapshot();
+        EmployeeSnapshot second = employeeService.getSnapshot();
+
+        // Only one upstream call for both reads, and the version is stable
+        assertEquals(1, mockWebServer.getRequestCount());
+        assertEquals(1L, first.getVersion());
+        assertEquals(first.getVersion(), second.getVersion());
+        assertEquals(50, second.getEmployees().size());
+    }
+
+    @Test
+    void testGetSnapshot_UpstreamFetchTimesOut() throws Exception {
+        ReflectionTestUtils.setField(employeeService, "fetchTimeoutMillis", 200L);
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(TestConstants.CONTENT_TYPE, TestConstants.APPLICATION_JSON)
+                .setBody(getMockResonceData("employee_list.json"))
+                .setHeadersDelay(5, TimeUnit.SECONDS));
+
+        long start = System.nanoTime();
+        EmployeeSnapshot snapshot = employeeService.getSnapshot();
+
+        // Treated as a failed refresh: nothing fetched yet, and the lock is released long before the response
+        assertEquals(0L, snapshot.getVersion());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(4));
+    }
+
+    @Test
+    void testGetSnapshot_LocalWriteDuringFetchIsKept() throws Exception {
+        String jsonResponse = getMockResonceData("employee_list.json");
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(TestConstants.CONTENT_TYPE, TestConstants.APPLICATION_JSON)
+                .setBody(jsonResponse));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(TestConstants.CONTENT_TYPE, TestConstants.APPLICATION_JSON)
+                .setBody(jsonResponse)
+                .setHeadersDelay(500, TimeUnit.MILLISECONDS));
+        employeeService.getSnapshot();
+        ReflectionTestUtils.setField(employeeService, "snapshotTtlMillis", 0L);
+
+        CompletableFuture<EmployeeSnapshot> refresh = CompletableFuture.supplyAsync(employeeService::getSnapshot);
+        mockWebServer.takeRequest();
+        mockWebServer.takeRequest();
+        // The refresh is now waiting for its response
+        employeeStore.apply(EmployeeMutation.add(new Employee("51", "Local Write", "1000", "30", "")));
+        EmployeeSnapshot refreshed = refresh.get(5, TimeUnit.SECONDS);
+
+        assertEquals(51, refreshed.getEmployees().size());
+        assertEquals("Local Write", refreshed.getEmployees().get(50).getEmployeeName());
+        // Upstream had nothing new, so the version of the local write is kept
+        assertEquals(2L, refreshed.getVersion());
+    }
+
+    @Test
+    void testRefreshSnapshot_KeepsServingCurrentSnapshotDuringFetch() throws Exception {
+        String jsonResponse = getMockResonceData("employee_list.json");
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(TestConstants.CONTENT_TYPE, TestConstants.APPLICATION_JSON)
+                .setBody(jsonResponse));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(TestConstants.CONTENT_TYPE, TestConstants.APPLICATION_JSON)
+                .setBody(jsonResponse)
+                .setHeadersDelay(500, TimeUnit.MILLISECONDS));
+        EmployeeSnapshot served = employeeService.getSnapshot();
+
+        CompletableFuture<EmployeeSnapshot> refresh = CompletableFuture.supplyAsync(employeeService::refreshSnapshot);
+        mockWebServer.takeRequest();
+        mockWebServer.takeRequest();
+        // The refresh is now waiting for its response, readers still get the fresh snapshot without waiting
+        assertSame(served, employeeService.getFreshSnapshot().orElse(null));
+        assertSame(served, employeeService.getSnapshot());
+        EmployeeSnapshot refreshed = refresh.get(5, TimeUnit.SECONDS);
+
+        assertEquals(served.getVersion(), refreshed.getVersion());
+        assertTrue(refreshed.getFetchedAt() >= served.getFetchedAt());
+        assertEquals(2, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void testGetSnapshot_PeerSnapshotKeepsLocalVersion() throws Exception {
+        // The mock server sorts before this instance, so it leads every cycle
+        ClusterSnapshotClient clusterSnapshotClient = new ClusterSnapshotClient(true, "http://zzz-self:8080",
+                mockWebServer.url("/").toString(), Long.MAX_VALUE, 2000, 67108864, WebClient.builder());
+        employeeService = new EmployeeServiceImpl(WebClient.create(), changeFeed, clusterSnapshotClient, employeeStore);
+        EmployeeSnapshot leaderSnapshot = new EmployeeSnapshot(12L, Arrays.asList(
+                new Employee("1", "Tiger Nixon", "320800", "61", ""),
+                new Employee("2", "Garrett Winters", "170750", "63", "")), 5L);
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(TestConstants.CONTENT_TYPE, "application/octet-stream")
+                .setBody(new Buffer().write(SnapshotCodec.encode(leaderSnapshot))));
+
+        EmployeeSnapshot adopted = employeeService.getSnapshot();
+
+        // The leader's version means nothing here, the data and its content hash are what is shared
+        assertEquals(1L, adopted.getVersion());
+        assertEquals(leaderSnapshot.getEmployees(), adopted.getEmployees());
+        assertEquals(leaderSnapshot.getContentHash(), adopted.getContentHash());
+    }
+
+    @Test
+    void testGetEmployeeSummary_SingleFetch() throws Exception {
+        String jsonResponse = getMockResonceData("employee_list.json");
+
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(TestConstants.CONTENT_TYPE, TestConstants.APPLICATION_JSON)
+                .setBody(jsonResponse));
+
+        EmployeeSummary summary = employeeService.getEmployeeSummary(
+                EnumSet.allOf(SummaryComponent.class), 3, "ASH");
+
+        assertEquals(1, mockWebServer.getRequestCount());
+        assertEquals(50, summary.getCount());
+        assertEquals(1200000, summary.getHighestSalary());
+        assertEquals(Arrays.asList("Angelica Ramos", "Fiona Green", "Paul Byrd"), summary.getTopEarnerNames());
+        assertEquals(2, summary.getSearchHits().size());
+        assertEquals("Ashton Cox", summary.getSearchHits().get(0).getEmployeeName());
+    }
+
+    @Test
+    void testGetEmployeeSummary_OnlyRequestedComponents() throws Exception {
+        String jsonResponse = getMockResonceData("employee_list.json");
+
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(TestConstants.CONTENT_TYPE, TestConstants.APPLICATION_JSON)
+                .setBody(jsonResponse));
+
+        EmployeeSummary summary = employeeService.getEmployeeSummary(
+                EnumSet.of(SummaryComponent.HIGHEST_SALARY), 10, null);
+
+        assertEquals(1200000, summary.getHighestSalary());
+        assertNull(summary.getCount());
+        assertNull(summary.getTopEarnerNames());
+        assertNull(summary.getSearchHits());
+    }
+
     @Test
     void testGetEmployeeById() throws Exception {
 
@@ -117,6 +297,70 @@ class EmployeeServiceImplTest {
         // Verify the results
         assertNotNull(createdEmployee);
         assertEquals("success", createdEmployee);
+
+        // The created record is folded into the change feed with the id assigned upstream
+        List<EmployeeChangeEvent> events = changeFeed.eventsAfter(0);
+        assertEquals(1, events.size());
+        assertEquals(ChangeType.ADDED, events.get(0).getType());
+        assertEquals("25", events.get(0).getEmployeeId());
+    }
+
+    @Test
+    void testCreateEmployee_FailureStatusIsNotApplied() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(TestConstants.CONTENT_TYPE, TestConstants.APPLICATION_JSON)
+                .setBody("{\"status\":\"failure\"}"));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> employeeService.createEmployee(new Employee(null, "test", "123", "23", null)));
+
+        // A server error, so the write-behind flusher retries it
+        assertEquals(HttpStatus.BAD_GATEWAY, e.getStatus());
+        assertEquals(0L, employeeStore.current().getVersion());
+        assertTrue(changeFeed.eventsAfter(0).isEmpty());
+    }
+
+    @Test
+    void testCreateEmployee_TimesOut() {
+        ReflectionTestUtils.setField(employeeService, "writeTimeoutMillis", 200L);
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(TestConstants.CONTENT_TYPE, TestConstants.APPLICATION_JSON)
+                .setBody("{\"status\":\"success\"}")
+                .setHeadersDelay(5, TimeUnit.SECONDS));
+
+        long start = System.nanoTime();
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> employeeService.createEmployee(new Employee(null, "test", "123", "23", null)));
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, e.getStatus());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(4));
+    }
+
+    @Test
+    void testCreateEmployee_AppliedToCachedSnapshot() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(TestConstants.CONTENT_TYPE, TestConstants.APPLICATION_JSON)
+                .setBody(getMockResonceData("employee_list.json")));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(TestConstants.CONTENT_TYPE, TestConstants.APPLICATION_JSON)
+                .setBody(getMockResonceData("create_employee.json")));
+        EmployeeSnapshot before = employeeService.getSnapshot();
+        before.getIndex(RangeIndex.class, RangeIndex::build);
+
+        employeeService.createEmployee(new Employee(null, "test", "123", "23", null));
+        EmployeeSnapshot after = employeeService.getSnapshot();
+
+        // No refetch, the new version carries the created record and the incrementally updated range index
+        assertEquals(2, mockWebServer.getRequestCount());
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertEquals(51, after.getEmployees().size());
+        assertEquals("25", after.getEmployees().get(50).getId());
+        RangeIndex index = after.getIndex(RangeIndex.class, RangeIndex::build);
+        assertEquals(50, index.salaries().positionAt(index.salaries().from(123)));
     }
 
     @Test
@@ -141,6 +385,7 @@ class EmployeeServiceImplTest {
         // Verify the results
         assertNotNull(deleteMessage);
         assertEquals("Foo Bar", deleteMessage);
+        assertEquals(ChangeType.REMOVED, changeFeed.eventsAfter(0).get(0).getType());
     }
 
     @NotNull
@@ -0,0 +1,123 @@
+package com.example.rqchallenge.service;
+
+import com.example.rqchallenge.analytics.SalaryStatsAccumulator;
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import com.example.rqchallenge.model.SalaryHistogramBucket;
+import com.example.rqchallenge.model.SalaryStatistics;
+import com.example.rqchallenge.service.Impl.SalaryAnalyticsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+import utils.MockEmployeeDataGenerator;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+public class SalaryAnalyticsServiceImplTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private SalaryAnalyticsServiceImpl salaryAnalyticsService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        salaryAnalyticsService = new SalaryAnalyticsServiceImpl(employeeService);
+    }
+
+    @Test
+    public void testGetSalaryStatistics_SmallDataset() {
+        List<Employee> employees = Arrays.asList(
+                new Employee("1", "Tiger Nixon", "100", "25", ""),
+                new Employee("2", "Garrett Winters", "300", "34", ""),
+                new Employee("3", "Ashton Cox", "200", "38", ""),
+                new Employee("4", "Cedric Kelly", "not a number", "22", ""),
+                new Employee("5", "Airi Satou", "1000", null, ""));
+        when(employeeService.getSnapshot()).thenReturn(new EmployeeSnapshot(1L, employees, 1L));
+
+        SalaryStatistics statistics = salaryAnalyticsService.getSalaryStatistics(Arrays.asList(50.0, 100.0), 250, 10);
+
+        assertEquals(4, statistics.getCount());
+        assertEquals(100, statistics.getMinSalary());
+        assertEquals(1000, statistics.getMaxSalary());
+        assertEquals(400.0, statistics.getMeanSalary());
+        assertEquals(200, statistics.getMedianSalary());
+        assertTrue(statistics.isExactPercentiles());
+        assertEquals(200, statistics.getPercentiles().get("p50"));
+        assertEquals(1000, statistics.getPercentiles().get("p100"));
+
+        assertEquals(5, statistics.getHistogram().size());
+        assertEquals(2, statistics.getHistogram().get(0).getCount());
+        assertEquals(1, statistics.getHistogram().get(1).getCount());
+        assertEquals(1, statistics.getHistogram().get(4).getCount());
+
+        assertEquals(2, statistics.getAgeBands().size());
+        assertEquals(20, statistics.getAgeBands().get(0).getFromAge());
+        assertEquals(1, statistics.getAgeBands().get(0).getCount());
+        assertEquals(30, statistics.getAgeBands().get(1).getFromAge());
+        assertEquals(250.0, statistics.getAgeBands().get(1).getMeanSalary());
+    }
+
+    @Test
+    public void testGetSalaryStatistics_ParallelMatchesSequential() {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1L, MockEmployeeDataGenerator.generateEmployees(20_000), 1L);
+        when(employeeService.getSnapshot()).thenReturn(snapshot);
+        List<Double> percentiles = Arrays.asList(10.0, 50.0, 99.9);
+
+        SalaryStatistics sequential = salaryAnalyticsService.getSalaryStatistics(percentiles, 100_000, 5);
+        ReflectionTestUtils.setField(salaryAnalyticsService, "parallelThreshold", 1000);
+        SalaryStatistics parallel = salaryAnalyticsService.getSalaryStatistics(percentiles, 100_000, 5);
+
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    public void testGetSalaryStatistics_SketchAboveExactLimit() {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1L, MockEmployeeDataGenerator.generateEmployees(5_000), 1L);
+        when(employeeService.getSnapshot()).thenReturn(snapshot);
+        SalaryStatistics exact = salaryAnalyticsService.getSalaryStatistics(Arrays.asList(90.0), 100_000, 10);
+
+        ReflectionTestUtils.setField(salaryAnalyticsService, "exactQuantileLimit", 100);
+        SalaryStatistics estimated = salaryAnalyticsService.getSalaryStatistics(Arrays.asList(90.0), 100_000, 10);
+
+        assertFalse(estimated.isExactPercentiles());
+        assertEquals(exact.getPercentiles().get("p90"), estimated.getPercentiles().get("p90"),
+                exact.getPercentiles().get("p90") * 0.01 + 1);
+    }
+
+    @Test
+    public void testGetSalaryStatistics_InvalidParameters() {
+        when(employeeService.getSnapshot())
+                .thenReturn(new EmployeeSnapshot(1L, MockEmployeeDataGenerator.generateEmployees(10), 1L));
+
+        assertThrows(ResponseStatusException.class,
+                () -> salaryAnalyticsService.getSalaryStatistics(Arrays.asList(50.0), 0, 10));
+        assertThrows(ResponseStatusException.class,
+                () -> salaryAnalyticsService.getSalaryStatistics(Arrays.asList(150.0), 1000, 10));
+    }
+
+    @Test
+    public void testGetSalaryStatistics_CapsHistogramAtMaxBuckets() {
+        List<Employee> employees = Arrays.asList(
+                new Employee("1", "Tiger Nixon", "100000", "25", ""),
+                new Employee("2", "Garrett Winters", "2000000000", "34", ""));
+        when(employeeService.getSnapshot()).thenReturn(new EmployeeSnapshot(1L, employees, 1L));
+
+        SalaryStatistics statistics = salaryAnalyticsService.getSalaryStatistics(Arrays.asList(50.0), 50_000, 10);
+
+        assertEquals(SalaryStatsAccumulator.MAX_BUCKETS, statistics.getHistogram().size());
+        SalaryHistogramBucket last = statistics.getHistogram().get(SalaryStatsAccumulator.MAX_BUCKETS - 1);
+        assertEquals(1, last.getCount());
+        assertEquals(2_000_000_001L, last.getToSalary());
+        assertEquals(1, statistics.getHistogram().get(2).getCount());
+        assertEquals(2_000_000_000, statistics.getMaxSalary());
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.rqchallenge.service;
+
+import com.example.rqchallenge.exceptions.EmployeeNotFoundException;
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.WriteState;
+import com.example.rqchallenge.model.WriteStatus;
+import com.example.rqchallenge.service.Impl.WriteBehindServiceImpl;
+import com.example.rqchallenge.writebehind.CreateJournal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class WriteBehindServiceImplTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @TempDir
+    Path journalDirectory;
+
+    private WriteBehindServiceImpl writeBehindService;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        writeBehindService = newService();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        writeBehindService.stop();
+    }
+
+    @Test
+    public void testSubmitCreate_FlushedInOrder() {
+        WriteStatus first = writeBehindService.submitCreate(employee("Tiger Nixon"));
+        WriteStatus second = writeBehindService.submitCreate(employee("Garrett Winters"));
+        assertEquals(WriteState.PENDING, first.getState());
+        verifyNoInteractions(employeeService);
+
+        writeBehindService.flushPending();
+
+        ArgumentCaptor<Employee> captor = ArgumentCaptor.forClass(Employee.class);
+        verify(employeeService, times(2)).createEmployee(captor.capture());
+        assertEquals(Arrays.asList("Tiger Nixon", "Garrett Winters"),
+                captor.getAllValues().stream().map(Employee::getEmployeeName).collect(Collectors.toList()));
+        assertEquals(WriteState.FLUSHED, writeBehindService.getStatus(first.getTrackingId()).getState());
+        assertEquals(WriteState.FLUSHED, writeBehindService.getStatus(second.getTrackingId()).getState());
+    }
+
+    @Test
+    public void testFlushPending_FailureBlocksLaterEntries() {
+        when(employeeService.createEmployee(any(Employee.class)))
+                .thenThrow(new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many requests"))
+                .thenReturn("success");
+        WriteStatus first = writeBehindService.submitCreate(employee("Tiger Nixon"));
+        WriteStatus second = writeBehindService.submitCreate(employee("Garrett Winters"));
+
+        writeBehindService.flushPending();
+
+        verify(employeeService, times(1)).createEmployee(any(Employee.class));
+        WriteStatus retrying = writeBehindService.getStatus(first.getTrackingId());
+        assertEquals(WriteState.PENDING, retrying.getState());
+        assertEquals(1, retrying.getAttempts());
+        assertEquals("Too many requests", retrying.getLastError());
+
+        writeBehindService.flushPending();
+
+        assertEquals(WriteState.FLUSHED, writeBehindService.getStatus(first.getTrackingId()).getState());
+        assertEquals(WriteState.FLUSHED, writeBehindService.getStatus(second.getTrackingId()).getState());
+    }
+
+    @Test
+    public void testFlushPending_ClientErrorFailsPermanently() {
+        when(employeeService.createEmployee(any(Employee.class)))
+                .thenThrow(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Rejected"));
+        WriteStatus status = writeBehindService.submitCreate(employee("Tiger Nixon"));
+
+        writeBehindService.flushPending();
+
+        WriteStatus failed = writeBehindService.getStatus(status.getTrackingId());
+        assertEquals(WriteState.FAILED, failed.getState());
+        assertEquals("Rejected", failed.getLastError());
+    }
+
+    @Test
+    public void testFlushPending_JournalFailureAfterCreateDoesNotRetry() throws Exception {
+        CreateJournal journal = (CreateJournal) ReflectionTestUtils.getField(writeBehindService, "journal");
+        when(employeeService.createEmployee(any(Employee.class))).thenAnswer(invocation -> {
+            journal.close();
+            return "success";
+        });
+        WriteStatus status = writeBehindService.submitCreate(employee("Tiger Nixon"));
+
+        writeBehindService.flushPending();
+        writeBehindService.flushPending();
+
+        verify(employeeService, times(1)).createEmployee(any(Employee.class));
+        assertEquals(WriteState.FLUSHED, writeBehindService.getStatus(status.getTrackingId()).getState());
+        // The closed journal can't be stopped again, continue on a fresh instance
+        writeBehindService = newService();
+    }
+
+    @Test
+    public void testSubmitCreate_SyncFailureIsNotReplayed() throws Exception {
+        CreateJournal journal = spy((CreateJournal) ReflectionTestUtils.getField(writeBehindService, "journal"));
+        doThrow(new IOException("Disk full")).when(journal).sync(anyLong());
+        ReflectionTestUtils.setField(writeBehindService, "journal", journal);
+
+        assertThrows(ResponseStatusException.class, () -> writeBehindService.submitCreate(employee("Tiger Nixon")));
+        writeBehindService.stop();
+
+        // The rejected create is in the journal, but closed by an abort record
+        writeBehindService = newService();
+        writeBehindService.flushPending();
+
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    public void testStart_ReplaysUnflushedEntries() throws Exception {
+        WriteStatus flushed = writeBehindService.submitCreate(employee("Tiger Nixon"));
+        writeBehindService.flushPending();
+        WriteStatus unflushed = writeBehindService.submitCreate(employee("Garrett Winters"));
+        writeBehindService.stop();
+        reset(employeeService);
+
+        // Simulated restart on the same journal
+        writeBehindService = newService();
+
+        assertEquals(WriteState.FLUSHED, writeBehindService.getStatus(flushed.getTrackingId()).getState());
+        assertEquals(WriteState.PENDING, writeBehindService.getStatus(unflushed.getTrackingId()).getState());
+
+        writeBehindService.flushPending();
+
+        ArgumentCaptor<Employee> captor = ArgumentCaptor.forClass(Employee.class);
+        verify(employeeService, times(1)).createEmployee(captor.capture());
+        assertEquals("Garrett Winters", captor.getValue().getEmployeeName());
+    }
+
+    @Test
+    public void testFlushPending_CompactsJournalPastThreshold() throws Exception {
+        ReflectionTestUtils.setField(writeBehindService, "compactThresholdBytes", 1L);
+        ReflectionTestUtils.setField(writeBehindService, "compactAtBytes", 1L);
+        ReflectionTestUtils.setField(writeBehindService, "statusRetention", 1);
+        writeBehindService.submitCreate(employee("Tiger Nixon"));
+        WriteStatus last = writeBehindService.submitCreate(employee("Garrett Winters"));
+
+        writeBehindService.flushPending();
+
+        // Only the retained status is left: its PENDING and FLUSHED records
+        Path journalPath = journalDirectory.resolve("create-journal.log");
+        assertEquals(2, Files.readAllLines(journalPath).size());
+        WriteStatus pending = writeBehindService.submitCreate(employee("Ashton Cox"));
+        writeBehindService.stop();
+        reset(employeeService);
+
+        writeBehindService = newService();
+        assertEquals(WriteState.FLUSHED, writeBehindService.getStatus(last.getTrackingId()).getState());
+        writeBehindService.flushPending();
+
+        ArgumentCaptor<Employee> captor = ArgumentCaptor.forClass(Employee.class);
+        verify(employeeService, times(1)).createEmployee(captor.capture());
+        assertEquals("Ashton Cox", captor.getValue().getEmployeeName());
+        assertEquals(WriteState.FLUSHED, writeBehindService.getStatus(pending.getTrackingId()).getState());
+    }
+
+    @Test
+    public void testSubmitCreate_Validation() {
+        assertThrows(ResponseStatusException.class,
+                () -> writeBehindService.submitCreate(new Employee(null, " ", "1000", "30", null)));
+        assertThrows(ResponseStatusException.class,
+                () -> writeBehindService.submitCreate(new Employee(null, "Tiger Nixon", "lots", "30", null)));
+        assertThrows(EmployeeNotFoundException.class, () -> writeBehindService.getStatus("unknown"));
+    }
+
+    private WriteBehindServiceImpl newService() throws Exception {
+        WriteBehindServiceImpl service = new WriteBehindServiceImpl(employeeService, new ObjectMapper());
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "journalPath", journalDirectory.resolve("create-journal.log").toString());
+        ReflectionTestUtils.setField(service, "retryBackoffMillis", 0L);
+        service.start();
+        return service;
+    }
+
+    private static Employee employee(String name) {
+        return new Employee(null, name, "1000", "30", null);
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.rqchallenge.store;
+
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import com.example.rqchallenge.search.RangeIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EmployeeStoreTest {
+
+    private static Employee employee(int id) {
+        return new Employee(String.valueOf(id), "Employee " + id, String.valueOf(id % 5000 * 37), String.valueOf(20 + id % 45), "");
+    }
+
+    private static EmployeeStore seeded(int count) {
+        List<Employee> employees = new ArrayList<>();
+        for (int id = 1; id <= count; id++) {
+            employees.add(employee(id));
+        }
+        EmployeeStore store = new EmployeeStore();
+        store.update(current -> new EmployeeSnapshot(1L, Collections.unmodifiableList(employees), 1L));
+        return store;
+    }
+
+    @Test
+    public void testApply_AddAndRemove() {
+        EmployeeStore store = seeded(3);
+
+        assertTrue(store.apply(EmployeeMutation.add(employee(4))));
+        assertTrue(store.apply(EmployeeMutation.remove("2")));
+        assertFalse(store.apply(EmployeeMutation.remove("2")));
+
+        EmployeeSnapshot snapshot = store.current();
+        assertEquals(3L, snapshot.getVersion());
+        assertEquals(List.of("1", "3", "4"),
+                snapshot.getEmployees().stream().map(Employee::getId).collect(Collectors.toList()));
+        assertEquals(3, snapshot.getSalaries().length);
+    }
+
+    @Test
+    public void testUpdateListener_NotifiedOfNewVersionsOnly() {
+        EmployeeStore store = seeded(3);
+        List<Long> notified = new ArrayList<>();
+        store.addUpdateListener(snapshot -> notified.add(snapshot.getVersion()));
+
+        store.update(current -> current.withFetchedAt(2L));
+        store.apply(EmployeeMutation.add(employee(4)));
+        store.update(current -> new EmployeeSnapshot(current.getVersion() + 1, current.getEmployees(), 3L));
+
+        assertEquals(List.of(3L), notified);
+    }
+
+    @Test
+    public void testReplayLocalChanges_ReappliesWritesAfterBaseVersion() {
+        EmployeeStore store = seeded(3);
+        store.apply(EmployeeMutation.add(employee(4)));
+        long baseVersion = store.current().getVersion();
+        store.apply(EmployeeMutation.add(employee(5)));
+        store.apply(EmployeeMutation.remove("1"));
+        store.apply(EmployeeMutation.add(employee(6)));
+        store.apply(EmployeeMutation.remove("6"));
+
+        // Fetched after the first add, upstream has also seen the second one already
+        List<Employee> fetched = List.of(employee(1), employee(2), employee(3), employee(4), employee(5));
+        EmployeeSnapshot refreshed = store.update(latest -> store.replayLocalChanges(
+                new EmployeeSnapshot(latest.getVersion() + 1, fetched, 2L), baseVersion));
+
+        assertEquals(List.of("2", "3", "4", "5"),
+                refreshed.getEmployees().stream().map(Employee::getId).collect(Collectors.toList()));
+        assertThrows(IllegalStateException.class, () -> store.replayLocalChanges(refreshed, baseVersion));
+    }
+
+    @Test
+    public void testApply_WithoutSnapshotIsRejected() {
+        EmployeeStore store = new EmployeeStore();
+
+        assertFalse(store.apply(EmployeeMutation.add(employee(1))));
+
+        assertSame(EmployeeSnapshot.EMPTY, store.current());
+    }
+
+    @Test
+    public void testConcurrentWritesAndReads_ReadersSeeConsistentVersions() throws Exception {
+        int seed = 2400;
+        int writers = 8;
+        int addsPerWriter = 300;
+        EmployeeStore store = seeded(seed);
+        store.current().getIndex(RangeIndex.class, RangeIndex::build);
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<?>> readers = new ArrayList<>();
+        for (int r = 0; r < 8; r++) {
+            readers.add(pool.submit(() -> {
+                long lastVersion = 0;
+                int lastSize = -1;
+                while (writing.get()) {
+                    EmployeeSnapshot snapshot = store.current();
+                    int size = snapshot.getEmployees().size();
+                    if (snapshot.getVersion() < lastVersion) {
+                        failures.add("version went back from " + lastVersion + " to " + snapshot.getVersion());
+                    }
+                    if (snapshot.getVersion() == lastVersion && size != lastSize) {
+                        failures.add("version " + lastVersion + " changed size");
+                    }
+                    if (snapshot.getSalaries().length != size || snapshot.getAges().length != size) {
+                        failures.add("columns out of step with employees at version " + snapshot.getVersion());
+                    }
+                    RangeIndex index = snapshot.getIndex(RangeIndex.class, RangeIndex::build);
+                    if (index.salaries().size() != size) {
+                        failures.add("range index out of step at version " + snapshot.getVersion());
+                    }
+                    lastVersion = snapshot.getVersion();
+                    lastSize = size;
+                }
+            }));
+        }
+
+        List<Future<?>> writes = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int firstId = seed + 1 + w * addsPerWriter;
+            writes.add(pool.submit(() -> {
+                start.await();
+                for (int id = firstId; id < firstId + addsPerWriter; id++) {
+                    store.apply(EmployeeMutation.add(employee(id)));
+                    if (id % 2 == 0) {
+                        store.apply(EmployeeMutation.remove(String.valueOf(id)));
+                    }
+                    // Every writer also deletes one seeded employee per add
+                    store.apply(EmployeeMutation.remove(String.valueOf(id - seed)));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> write : writes) {
+            write.get(60, TimeUnit.SECONDS);
+        }
+        writing.set(false);
+        for (Future<?> reader : readers) {
+            reader.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertTrue(failures.isEmpty(), () -> String.join("\n", failures));
+        EmployeeSnapshot snapshot = store.current();
+        Set<String> expected = new HashSet<>();
+        for (int id = seed + 1; id <= seed + writers * addsPerWriter; id++) {
+            if (id % 2 != 0) {
+                expected.add(String.valueOf(id));
+            }
+        }
+        assertEquals(expected, snapshot.getEmployees().stream().map(Employee::getId).collect(Collectors.toSet()));
+        int mutations = writers * addsPerWriter * 5 / 2;
+        assertTrue(snapshot.getVersion() <= 1 + mutations);
+
+        // The incrementally maintained range index matches one built from scratch
+        RangeIndex carried = snapshot.getIndex(RangeIndex.class, RangeIndex::build);
+        RangeIndex rebuilt = RangeIndex.build(snapshot);
+        for (int i = 0; i < rebuilt.salaries().size(); i++) {
+            assertEquals(rebuilt.salaries().positionAt(i), carried.salaries().positionAt(i));
+            assertEquals(rebuilt.ages().positionAt(i), carried.ages().positionAt(i));
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.rqchallenge.sync;
+
+import com.example.rqchallenge.model.ChangeType;
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeChangeEvent;
+import com.example.rqchallenge.model.EmployeeSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeChangeFeedTest {
+
+    private EmployeeChangeFeed changeFeed;
+
+    @BeforeEach
+    public void setUp() {
+        changeFeed = new EmployeeChangeFeed(3, Runnable::run);
+    }
+
+    @Test
+    public void testApplySnapshot_FirstSnapshotIsBaseline() {
+        changeFeed.applySnapshot(snapshot(1L, employee("1", "Tiger Nixon", "320800")));
+
+        assertEquals(0, changeFeed.getLastEventId());
+    }
+
+    @Test
+    public void testApplySnapshot_EmitsAddedUpdatedRemoved() {
+        changeFeed.applySnapshot(snapshot(1L, employee("1", "Tiger Nixon", "320800"), employee("2", "Garrett Winters", "170750")));
+        changeFeed.applySnapshot(snapshot(2L, employee("1", "Tiger Nixon", "350000"), employee("3", "Ashton Cox", "86000")));
+
+        List<EmployeeChangeEvent> events = changeFeed.eventsAfter(0);
+        assertEquals(3, events.size());
+        assertEquals(ChangeType.UPDATED, events.get(0).getType());
+        assertEquals("1", events.get(0).getEmployeeId());
+        assertEquals("350000", events.get(0).getEmployee().getEmployeeSalary());
+        assertEquals(ChangeType.ADDED, events.get(1).getType());
+        assertEquals("3", events.get(1).getEmployeeId());
+        assertEquals(ChangeType.REMOVED, events.get(2).getType());
+        assertEquals("2", events.get(2).getEmployeeId());
+        assertNull(events.get(2).getEmployee());
+    }
+
+    @Test
+    public void testApplySnapshot_SameVersionIsIgnored() {
+        changeFeed.applySnapshot(snapshot(1L, employee("1", "Tiger Nixon", "320800")));
+        changeFeed.applySnapshot(snapshot(1L, employee("1", "Tiger Nixon", "999999")));
+
+        assertEquals(0, changeFeed.getLastEventId());
+    }
+
+    @Test
+    public void testLocalWrites_AreFoldedIntoState() {
+        changeFeed.applySnapshot(snapshot(1L, employee("1", "Tiger Nixon", "320800")));
+        changeFeed.recordCreated(employee("2", "Garrett Winters", "170750"));
+        changeFeed.recordDeleted("1");
+
+        // Upstream now reflects both writes, so there is nothing new to report
+        changeFeed.applySnapshot(snapshot(2L, employee("2", "Garrett Winters", "170750")));
+
+        List<EmployeeChangeEvent> events = changeFeed.eventsAfter(0);
+        assertEquals(2, events.size());
+        assertEquals(ChangeType.ADDED, events.get(0).getType());
+        assertEquals("local", events.get(0).getSource());
+        assertEquals(ChangeType.REMOVED, events.get(1).getType());
+    }
+
+    @Test
+    public void testLocalCreate_MissingFieldsMatchUpstreamEcho() {
+        changeFeed.applySnapshot(snapshot(1L));
+        changeFeed.recordCreated(new Employee("7", "Ashton Cox", "86000", "66", null));
+
+        // Upstream returns the record with an empty profile image, which is the same record
+        changeFeed.applySnapshot(snapshot(2L, new Employee("7", "Ashton Cox", "86000", "66", "")));
+
+        List<EmployeeChangeEvent> events = changeFeed.eventsAfter(0);
+        assertEquals(1, events.size());
+        assertEquals(ChangeType.ADDED, events.get(0).getType());
+    }
+
+    @Test
+    public void testEventsAfter_ResyncWhenEvicted() {
+        changeFeed.applySnapshot(snapshot(1L));
+        for (int i = 1; i <= 5; i++) {
+            changeFeed.recordCreated(employee(String.valueOf(i), "Employee " + i, "1000"));
+        }
+
+        assertEquals(2, changeFeed.eventsAfter(3).size());
+        assertEquals(ChangeType.RESYNC, changeFeed.eventsAfter(1).get(0).getType());
+        // An id from before a restart is also unusable
+        assertEquals(ChangeType.RESYNC, changeFeed.eventsAfter(99).get(0).getType());
+        assertTrue(changeFeed.eventsAfter(5).isEmpty());
+    }
+
+    @Test
+    public void testEventsAfter_ResyncForIdFromAnotherEpoch() {
+        changeFeed.applySnapshot(snapshot(1L));
+        changeFeed.recordCreated(employee("1", "Tiger Nixon", "320800"));
+        changeFeed.recordCreated(employee("2", "Garrett Winters", "170750"));
+
+        assertEquals(1, changeFeed.eventsAfter(changeFeed.sseId(1L)).size());
+        // Same sequence, but issued by another instance or before a restart
+        EmployeeChangeFeed restarted = new EmployeeChangeFeed(3, Runnable::run);
+        assertEquals(ChangeType.RESYNC, changeFeed.eventsAfter(restarted.sseId(1L)).get(0).getType());
+        assertEquals(ChangeType.RESYNC, changeFeed.eventsAfter("1").get(0).getType());
+        assertEquals(ChangeType.RESYNC, changeFeed.eventsAfter(changeFeed.sseId(1L) + "x").get(0).getType());
+    }
+
+    @Test
+    public void testSubscribe_ReplaysThenStreams() {
+        changeFeed.applySnapshot(snapshot(1L));
+        changeFeed.recordCreated(employee("1", "Tiger Nixon", "320800"));
+        changeFeed.recordCreated(employee("2", "Garrett Winters", "170750"));
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        changeFeed.subscribe(emitter, changeFeed.sseId(1L));
+        changeFeed.recordDeleted("1");
+
+        assertEquals(2, emitter.sent);
+    }
+
+    @Test
+    public void testSlowSubscriber_DoesNotBlockWriters() throws Exception {
+        EmployeeChangeFeed asyncFeed = new EmployeeChangeFeed(100);
+        asyncFeed.applySnapshot(snapshot(1L));
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingEmitter emitter = new BlockingEmitter(release);
+        asyncFeed.subscribe(emitter, null);
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                for (int i = 1; i <= 10; i++) {
+                    asyncFeed.recordCreated(employee(String.valueOf(i), "Employee " + i, "1000"));
+                }
+            });
+        } finally {
+            release.countDown();
+        }
+        assertTrue(emitter.allSent.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), emitter.eventIds);
+        asyncFeed.shutdown();
+    }
+
+    @Test
+    public void testSubscriber_DisconnectedWhenTooFarBehind() {
+        List<Runnable> deliveries = new ArrayList<>();
+        EmployeeChangeFeed queuedFeed = new EmployeeChangeFeed(3, deliveries::add);
+        queuedFeed.applySnapshot(snapshot(1L));
+        RecordingEmitter emitter = new RecordingEmitter();
+        queuedFeed.subscribe(emitter, null);
+
+        for (int i = 1; i <= 4; i++) {
+            queuedFeed.recordCreated(employee(String.valueOf(i), "Employee " + i, "1000"));
+        }
+        assertFalse(queuedFeed.hasSubscribers());
+
+        deliveries.forEach(Runnable::run);
+        assertEquals(0, emitter.sent);
+        assertTrue(emitter.completed);
+    }
+
+    @Test
+    public void testRecordHash_DetectsFieldBoundaries() {
+        assertNotEquals(EmployeeChangeFeed.recordHash(new Employee("1", "ab", "c", "30", "")),
+                EmployeeChangeFeed.recordHash(new Employee("1", "a", "bc", "30", "")));
+    }
+
+    private static EmployeeSnapshot snapshot(long version, Employee... employees) {
+        return new EmployeeSnapshot(version, new ArrayList<>(Arrays.asList(employees)), 1L);
+    }
+
+    private static Employee employee(String id, String name, String salary) {
+        return new Employee(id, name, salary, "30", "");
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private int sent;
+
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent++;
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    // Stalls on the first event until released, like a client that stopped reading
+    private static class BlockingEmitter extends SseEmitter {
+
+        private final CountDownLatch release;
+
+        private final CountDownLatch allSent = new CountDownLatch(10);
+
+        private final List<Long> eventIds = new CopyOnWriteArrayList<>();
+
+        BlockingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            // The first part holds the "id:<id>\nevent:<type>\ndata:" lines
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                String text = String.valueOf(data.getData());
+                if (text.startsWith("id:")) {
+                    eventIds.add(Long.parseLong(text.substring(text.indexOf('-') + 1, text.indexOf('\n'))));
+                }
+            }
+            allSent.countDown();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.rqchallenge.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class StartupWarmupTest {
+
+    private static final List<ObjectMapper> MAPPERS = Arrays.asList(
+            new ObjectMapper(), new ObjectMapper(new SmileFactory()), new ObjectMapper(new CBORFactory()));
+
+    // Nothing listens here, every call has to go through the canned exchange function
+    private final WebClient webClient = WebClient.builder().baseUrl("http://localhost:1/api/v1").build();
+
+    @Test
+    public void testWarmUp_RunsConfiguredIterationsWithoutNetwork() throws Exception {
+        StartupWarmup warmup = new StartupWarmup(MAPPERS, webClient, ExchangeStrategies.withDefaults(), 20, 5, 60_000);
+
+        assertEquals(5, warmup.warmUp());
+    }
+
+    @Test
+    public void testWarmUp_StopsAtTimeBudgetAfterOneIteration() throws Exception {
+        StartupWarmup warmup = new StartupWarmup(MAPPERS, webClient, ExchangeStrategies.withDefaults(), 20, 1000, 0);
+
+        assertEquals(1, warmup.warmUp());
+    }
+
+    @Test
+    public void testWarmUpConnector_ExchangesWithLoopbackStub() throws Exception {
+        StartupWarmup warmup = new StartupWarmup(MAPPERS, webClient, ExchangeStrategies.withDefaults(), 20, 5, 60_000);
+
+        // Would fail against the unreachable base URL, so the calls must reach the stub over the network
+        warmup.warmUpConnector();
+    }
+
+    @Test
+    public void testRun_DoesNotFailStartupWhenWarmUpFails() {
+        ExchangeStrategies noCodecs = ExchangeStrategies.empty().build();
+        StartupWarmup warmup = new StartupWarmup(MAPPERS, webClient, noCodecs, 20, 5, 60_000);
+
+        warmup.run(null);
+        assertThrows(RuntimeException.class, warmup::warmUp);
+    }
+
+    @Test
+    public void testConstructor_RejectsEmptyMappers() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new StartupWarmup(Collections.emptyList(), webClient, ExchangeStrategies.withDefaults(), 20, 5, 1000));
+    }
+}